@@ -0,0 +1,82 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite.bench;
+
+import java.util.*;
+
+/**
+ *  A fixed synthetic corpus for benchmarking.  Documents are built from
+ *  sentence templates filled with names, titles, organizations, places and
+ *  event words, using a seeded random number generator, so the same
+ *  parameters always produce the same text.
+ */
+
+public class Corpus {
+
+    static final String[] FIRST = {"John", "Mary", "Robert", "Susan", "Ahmed", "Li", "Pierre", "Anna"};
+
+    static final String[] LAST = {"Smith", "Jones", "Chen", "Garcia", "Miller", "Kowalski", "Dubois", "Tanaka"};
+
+    static final String[] TITLE = {"Mr.", "Mrs.", "Dr.", "Gen.", "Sen.", "Prof."};
+
+    static final String[] ORG = {"Acme Corporation", "the United Nations", "General Motors",
+				 "the Ministry of Defense", "Boston University", "the Red Cross"};
+
+    static final String[] PLACE = {"New York", "Paris", "Baghdad", "Tokyo", "the capital", "Texas"};
+
+    static final String[] ROLE = {"president", "spokesman", "director", "lawyer", "chairman", "soldier"};
+
+    static final String[] EVENT = {"visited", "attacked", "left", "met officials in", "was elected in",
+				   "was arrested in", "died in", "moved to"};
+
+    static final String[] DAY = {"Monday", "Tuesday", "last week", "yesterday", "in 2003", "on Friday"};
+
+    /**
+     *  Returns a document of 'sentences' sentences, generated from 'seed',
+     *  with the body enclosed in TEXT tags.
+     */
+
+    public static String document (int sentences, long seed) {
+	Random r = new Random(seed);
+	StringBuilder sb = new StringBuilder();
+	sb.append("<DOC>\n<HEADLINE>\nBenchmark document ").append(seed).append("\n</HEADLINE>\n<TEXT>\n");
+	for (int i = 0; i < sentences; i++) {
+	    String person = pick(r, FIRST) + " " + pick(r, LAST);
+	    switch (r.nextInt(5)) {
+	    case 0:
+		sb.append(pick(r, TITLE)).append(' ').append(person).append(", the ").append(pick(r, ROLE))
+		  .append(" of ").append(pick(r, ORG)).append(", ").append(pick(r, EVENT)).append(' ')
+		  .append(pick(r, PLACE)).append(' ').append(pick(r, DAY)).append(".");
+		break;
+	    case 1:
+		sb.append(person).append(" is the ").append(pick(r, ROLE)).append(" of ")
+		  .append(pick(r, ORG)).append(".");
+		break;
+	    case 2:
+		sb.append("He said that ").append(pick(r, ORG)).append(" had ").append(r.nextInt(900) + 100)
+		  .append(" employees in ").append(pick(r, PLACE)).append(" and ").append(pick(r, PLACE))
+		  .append(".");
+		break;
+	    case 3:
+		sb.append("The ").append(pick(r, ROLE)).append(" ").append(pick(r, EVENT)).append(' ')
+		  .append(pick(r, PLACE)).append(" after talks with ").append(person).append(".");
+		break;
+	    default:
+		sb.append(person).append(" didn't comment, but ").append(pick(r, LAST))
+		  .append("'s office said the meeting ").append(pick(r, DAY)).append(" was useful.");
+	    }
+	    sb.append((i % 4 == 3) ? "\n\n" : " ");
+	}
+	sb.append("\n</TEXT>\n</DOC>\n");
+	return sb.toString();
+    }
+
+    private static String pick (Random r, String[] choices) {
+	return choices[r.nextInt(choices.length)];
+    }
+}
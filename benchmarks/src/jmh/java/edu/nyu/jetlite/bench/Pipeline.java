@@ -0,0 +1,56 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite.bench;
+
+import edu.nyu.jetlite.*;
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ *  The annotators of the pipeline, created once per benchmark run from the
+ *  JetLite property file (system property jetlite.props, default "props")
+ *  by Hub.createAnnotators, as Hub.main creates them, so that model loading
+ *  is not part of the measured time.
+ */
+
+@State(Scope.Benchmark)
+public class Pipeline {
+
+    Properties config = new Properties();
+
+    Map<String, Annotator> annotators;
+
+    // the annotators run by the complete pipeline (property 'annotators')
+    String[] names;
+
+    @Setup(Level.Trial)
+    public void load () throws IOException {
+	Hub.loadConfig(config, System.getProperty("jetlite.props", "props"));
+	annotators = Hub.createAnnotators(config);
+	names = config.getProperty("annotators",
+	    "token sentence pos name parse coref entity relation event").split(" ");
+	// annotate one document so that all models are loaded
+	Document doc = new Document(Corpus.document(5, 0));
+	annotate(doc, Hub.getTEXTspan(doc), "token sentence pos name parse coref entity relation event");
+    }
+
+    /**
+     *  Applies the blank-separated list of 'stages' to 'span' of 'doc'.
+     */
+
+    public Document annotate (Document doc, Span span, String stages) {
+	for (String stage : stages.split(" ")) {
+	    if (stage.isEmpty())
+		continue;
+	    doc = annotators.get(stage).annotate(doc, span);
+	}
+	return doc;
+    }
+}
@@ -0,0 +1,105 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite.bench;
+
+import edu.nyu.jetlite.*;
+import edu.nyu.jetlite.tipster.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ *  One benchmark for each stage of the pipeline, plus the complete
+ *  pipeline through Hub.processDocument.  Each stage benchmark applies one
+ *  annotator to a document already processed by the preceding stages.
+ *  <p>
+ *  The 'tokens' counter gives throughput in tokens per second.  The
+ *  'allocatedBytes' counter gives the bytes allocated by the stage itself
+ *  per second;  divided by the operations per second, it gives the bytes
+ *  allocated per operation.  The allocation reported by the GC profiler
+ *  also includes reading back the input document.  'gradle :benchmarks:jmh'
+ *  runs the benchmarks with the GC profiler (see benchmarks/build.gradle);
+ *  with the benchmark jar, pass it as
+ *  <pre>
+ *    java -jar benchmarks/build/libs/jetlite-benchmarks-1.00-jmh.jar -prof gc
+ *  </pre>
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1200m")
+public class StageBenchmarks {
+
+    private static Document run (Pipeline pipeline, StageInput in, TokenCount count, String stage) {
+	long allocated = TokenCount.allocatedBytes();
+	Document doc = pipeline.annotators.get(stage).annotate(in.doc, in.span);
+	count.allocatedBytes += TokenCount.allocatedBytes() - allocated;
+	count.tokens += in.tokenCount;
+	return doc;
+    }
+
+    @Benchmark
+    public Document tokenizer (Pipeline pipeline, StageInput.Raw in, TokenCount count) {
+	return run(pipeline, in, count, "token");
+    }
+
+    @Benchmark
+    public Document sentenceSplitter (Pipeline pipeline, StageInput.Tokenized in, TokenCount count) {
+	return run(pipeline, in, count, "sentence");
+    }
+
+    @Benchmark
+    public Document posTagger (Pipeline pipeline, StageInput.Split in, TokenCount count) {
+	return run(pipeline, in, count, "pos");
+    }
+
+    @Benchmark
+    public Document neTagger (Pipeline pipeline, StageInput.Split in, TokenCount count) {
+	return run(pipeline, in, count, "name");
+    }
+
+    @Benchmark
+    public Document depParser (Pipeline pipeline, StageInput.Tagged in, TokenCount count) {
+	return run(pipeline, in, count, "parse");
+    }
+
+    @Benchmark
+    public Document coref (Pipeline pipeline, StageInput.Parsed in, TokenCount count) {
+	return run(pipeline, in, count, "coref");
+    }
+
+    @Benchmark
+    public Document entityTagger (Pipeline pipeline, StageInput.Resolved in, TokenCount count) {
+	return run(pipeline, in, count, "entity");
+    }
+
+    @Benchmark
+    public Document relationTagger (Pipeline pipeline, StageInput.Typed in, TokenCount count) {
+	return run(pipeline, in, count, "relation");
+    }
+
+    @Benchmark
+    public Document eventTagger (Pipeline pipeline, StageInput.Split in, TokenCount count) {
+	return run(pipeline, in, count, "event");
+    }
+
+    /**
+     *  The complete pipeline, as run by Hub.main:  the annotators of property
+     *  'annotators' and those they depend on, created once.
+     */
+
+    @Benchmark
+    public Document hub (Pipeline pipeline, StageInput.Raw in, TokenCount count) {
+	long allocated = TokenCount.allocatedBytes();
+	Document doc = Hub.processDocument(in.doc, pipeline.annotators, pipeline.names);
+	count.allocatedBytes += TokenCount.allocatedBytes() - allocated;
+	count.tokens += in.tokenCount;
+	return doc;
+    }
+}
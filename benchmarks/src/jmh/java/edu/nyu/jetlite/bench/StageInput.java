@@ -0,0 +1,101 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite.bench;
+
+import edu.nyu.jetlite.*;
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ *  A corpus document which has been processed by the stages preceding the
+ *  stage being measured.  The stages are applied once, and the result kept
+ *  in binary form (see BinaryDocument);  a fresh copy is read back from it
+ *  before each invocation, so that the prerequisite stages do not add to
+ *  the time or (much) to the allocation of the stage measured.  Subclasses
+ *  name the prerequisite stages.
+ */
+
+@State(Scope.Thread)
+public abstract class StageInput {
+
+    /**
+     *  the number of sentences in the benchmark document.
+     */
+
+    @Param({"200"})
+    public int sentences;
+
+    String text;
+
+    int tokenCount;
+
+    // the document after the prerequisite stages, in binary form
+    byte[] prepared;
+
+    Document doc;
+
+    Span span;
+
+    /**
+     *  Returns the blank-separated list of stages which must be applied
+     *  before the stage being measured.
+     */
+
+    abstract String prerequisites ();
+
+    @Setup(Level.Trial)
+    public void generate (Pipeline pipeline) throws IOException {
+	text = Corpus.document(sentences, 1);
+	Document d = new Document(text);
+	pipeline.annotate(d, Hub.getTEXTspan(d), "token");
+	tokenCount = d.annotationsOfType("token").size();
+	d = new Document(text);
+	pipeline.annotate(d, Hub.getTEXTspan(d), prerequisites());
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	DataOutputStream out = new DataOutputStream(bytes);
+	BinaryDocument.write(d, null, out);
+	out.close();
+	prepared = bytes.toByteArray();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare () throws IOException {
+	doc = BinaryDocument.read(new DataInputStream(new ByteArrayInputStream(prepared)), null);
+	span = Hub.getTEXTspan(doc);
+    }
+
+    public static class Raw extends StageInput {
+	String prerequisites () {return "";}
+    }
+
+    public static class Tokenized extends StageInput {
+	String prerequisites () {return "token";}
+    }
+
+    public static class Split extends StageInput {
+	String prerequisites () {return "token sentence";}
+    }
+
+    public static class Tagged extends StageInput {
+	String prerequisites () {return "token sentence pos name";}
+    }
+
+    public static class Parsed extends StageInput {
+	String prerequisites () {return "token sentence pos name parse";}
+    }
+
+    public static class Resolved extends StageInput {
+	String prerequisites () {return "token sentence pos name parse coref";}
+    }
+
+    public static class Typed extends StageInput {
+	String prerequisites () {return "token sentence pos name parse coref entity";}
+    }
+}
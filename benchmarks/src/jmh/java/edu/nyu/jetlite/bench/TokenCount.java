@@ -0,0 +1,46 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite.bench;
+
+import java.lang.management.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ *  Counts the tokens processed by a benchmark, so that JMH reports
+ *  throughput in tokens per second alongside operations per second, and
+ *  the bytes allocated by the code measured (and not by its setup).
+ */
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class TokenCount {
+
+    public long tokens;
+
+    public long allocatedBytes;
+
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Setup(Level.Iteration)
+    public void reset () {
+	tokens = 0;
+	allocatedBytes = 0;
+    }
+
+    /**
+     *  Returns the number of bytes allocated so far by the current thread,
+     *  or 0 if the JVM does not measure it.
+     */
+
+    static long allocatedBytes () {
+	if (threads instanceof com.sun.management.ThreadMXBean)
+	    return ((com.sun.management.ThreadMXBean) threads)
+		.getThreadAllocatedBytes(Thread.currentThread().getId());
+	return 0;
+    }
+}
@@ -0,0 +1,267 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *  Methods to support BIO tagging.
+ *  <p>
+ *  A BIO object holds a table of the tags of one tagger.  Each tag is
+ *  given an integer code when it is first seen, and the table records its
+ *  prefix (O, B, I or other) and the number of its type, so that tags can
+ *  be compared as integers.
+ */
+
+public class BIO {
+
+    static final int O = 0;
+    static final int B = 1;
+    static final int I = 2;
+    static final int OTHER = 3;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<String, Integer>();
+
+    private final Map<String, Integer> typeIDs = new HashMap<String, Integer>();
+
+    // the tag, prefix and type number of each code;  the arrays are
+    // replaced, not changed, when a tag is added
+    private volatile String[] tags = new String[0];
+    private volatile int[] prefixes = new int[0];
+    private volatile int[] types = new int[0];
+
+    private List<String> typeNames = new ArrayList<String>();
+
+    /**
+     *  Returns the code for tag 'tag'.
+     */
+
+    public int code (String tag) {
+	Integer c = codes.get(tag);
+	return (c != null) ? c : addTag(tag);
+    }
+
+    private synchronized int addTag (String tag) {
+	Integer c = codes.get(tag);
+	if (c != null)
+	    return c;
+	int prefix;
+	if (tag.equals("O"))
+	    prefix = O;
+	else if (tag.charAt(0) == 'B')
+	    prefix = B;
+	else if (tag.charAt(0) == 'I')
+	    prefix = I;
+	else
+	    prefix = OTHER;
+	String type = (tag.length() < 2) ? "" : tag.substring(2);
+	Integer typeID = typeIDs.get(type);
+	if (typeID == null) {
+	    typeID = typeNames.size();
+	    typeIDs.put(type, typeID);
+	    typeNames.add(type);
+	}
+	int n = tags.length;
+	String[] newTags = Arrays.copyOf(tags, n + 1);
+	int[] newPrefixes = Arrays.copyOf(prefixes, n + 1);
+	int[] newTypes = Arrays.copyOf(types, n + 1);
+	newTags[n] = tag;
+	newPrefixes[n] = prefix;
+	newTypes[n] = typeID;
+	prefixes = newPrefixes;
+	types = newTypes;
+	tags = newTags;
+	codes.put(tag, n);
+	return n;
+    }
+
+    /**
+     *  Returns the codes for the tags in 'tags'.
+     */
+
+    public int[] encode (String[] tags) {
+	int[] c = new int[tags.length];
+	for (int i = 0; i < tags.length; i++)
+	    c[i] = code(tags[i]);
+	return c;
+    }
+
+    /**
+     *  Returns the tag with code 'code'.
+     */
+
+    public String tag (int code) {
+	return tags[code];
+    }
+
+    /**
+     *  Counts of tags and groups (names) in the response and key.  The
+     *  counts for separate sets of sentences can be combined by add.
+     */
+
+    public static class Score {
+
+	public int correct = 0;
+	public int incorrect = 0;
+	public int keyGroupCount = 0;
+	public int responseGroupCount = 0;
+	public int correctGroupCount = 0;
+
+	public void add (Score s) {
+	    correct += s.correct;
+	    incorrect += s.incorrect;
+	    keyGroupCount += s.keyGroupCount;
+	    responseGroupCount += s.responseGroupCount;
+	    correctGroupCount += s.correctGroupCount;
+	}
+
+	/**
+	 *  Write to standard output a report of tagger performance.
+	 */
+
+	public void report () {
+	    System.out.println ( correct + " out of " + (correct + incorrect) + " tags correct \n");
+	    double accuracy = 100.0 * correct / (correct + incorrect);
+	    System.out.printf ( "  accuracy: %5.2f \n\n",  accuracy);
+	    System.out.println ( keyGroupCount + " groups in key\n");
+	    System.out.println ( responseGroupCount + " groups in response\n");
+	    System.out.println ( correctGroupCount + " correct groups\n");
+	    double precision = 100.0 * correctGroupCount / responseGroupCount;
+	    double recall = 100.0 * correctGroupCount / keyGroupCount;
+	    double F = 2 * precision  * recall / (precision + recall);
+	    System.out.printf ( "  precision: %5.2f", precision);
+	    System.out.printf ( "  recall:    %5.2f",  recall);
+	    System.out.printf ( "  F1:        %5.2f \n",  F);
+	}
+    }
+
+    /**
+     *  Returns the counts of correct and incorrect tags based on a comparison
+     *  of response and key.
+     */
+
+    public Score score (String[] response, String[] key) {
+	Score score = new Score();
+	score(encode(response), encode(key), score);
+	return score;
+    }
+
+    /**
+     *  Increment the counts in 'score' based on a comparison of response and
+     *  key, given as tag codes.
+     */
+
+    public void score (int[] response, int[] key, Score score) {
+	int[] prefixes = this.prefixes;
+	int[] types = this.types;
+	int len = response.length;
+	int keyStart = -1;
+	int responseStart = -1;
+	int keyGroupType = -1;
+	int responseGroupType = -1;
+	for (int i=0; i < len; i++) {
+	    int responseTag = response[i];
+	    int responsePrefix = prefixes[responseTag];
+	    int responseType = types[responseTag];
+	    int keyTag = key[i];
+	    int keyPrefix = prefixes[keyTag];
+	    int keyType = types[keyTag];
+	    if (responseTag == keyTag)
+		score.correct++;
+	    else
+		score.incorrect++;
+	    //  the previous token ends a group if
+	    //    we are in a group AND
+	    //    the current tag is O OR the current tag is a B tag
+	    //    the current tag is an I tag with a different type from the current group
+	    boolean responseEnd =  responseStart>=0 && (responsePrefix==O || responsePrefix==B || (responsePrefix==I && responseType!=responseGroupType));
+	    // the current token begins a group if
+	    //   the previous token was not in a group or ended a group AND
+	    //   the current tag is an I or B tag
+	    boolean responseBegin = (responseStart<0 || responseEnd) && (responsePrefix==B || responsePrefix==I);
+	    boolean keyEnd =  keyStart>=0 && (keyPrefix==O || keyPrefix==B || (keyPrefix==I && keyType!=keyGroupType));
+	    boolean keyBegin = (keyStart<0 || keyEnd) && (keyPrefix==B || keyPrefix==I);
+	    if (responseEnd)
+		score.responseGroupCount++;
+	    if (keyEnd)
+		score.keyGroupCount++;
+	    if (responseEnd & keyEnd & responseStart == keyStart & responseGroupType == keyGroupType)
+		score.correctGroupCount++;
+	    if (responseBegin) {
+		responseStart = i;
+		responseGroupType = responseType;
+	    }
+	    else if (responseEnd)
+		responseStart = -1;
+	    if (keyBegin) {
+		keyStart = i;
+		keyGroupType = keyType;
+	    }
+	    else if (keyEnd)
+		keyStart = -1;
+	}
+    }
+
+    /**
+     *  Generate enamex annotations based on token-level BIO tags.
+     *
+     *  @param  doc       Document to be annotated
+     *  @param  spans     span of i-th token
+     *  @param  response  BIO tag of i-th token
+     */    
+
+    public void tag (Document doc, Span[] spans, String[] response) {
+	tag(doc, spans, encode(response));
+    }
+
+    /**
+     *  Generate enamex annotations based on token-level BIO tags, given as
+     *  tag codes.
+     */
+
+    public void tag (Document doc, Span[] spans, int[] response) {
+	int[] prefixes = this.prefixes;
+	int[] types = this.types;
+	int len = response.length;
+	int responseStart = -1;
+	int responseGroupType = -1;
+	List<Enamex> names = new ArrayList<Enamex>();
+	for (int i=0; i < len; i++) {
+	    int responsePrefix = prefixes[response[i]];
+	    int responseType = types[response[i]];
+	    //  the previous token ends a group if
+	    //    we are in a group AND
+	    //    the current tag is O OR the current tag is a B tag
+	    //    the current tag is an I tag with a different type from the current group
+	    boolean responseEnd =  responseStart>=0 && (responsePrefix==O || responsePrefix==B || (responsePrefix==I && responseType!=responseGroupType));
+	    // the current token begins a group if
+	    //   the previous token was not in a group or ended a group AND
+	    //   the current tag is an I or B tag
+	    boolean responseBegin = (responseStart<0 || responseEnd) && (responsePrefix==B || responsePrefix==I);
+	    if (responseEnd) {
+		Enamex t = new Enamex (new Span (spans[responseStart].start(), spans[i-1].end()));
+		t.setNameType(typeName(responseGroupType));
+		names.add(t);
+	    }
+	    if (responseBegin) {
+		responseStart = i;
+		responseGroupType = responseType;
+	    }
+	    else if (responseEnd)
+		responseStart = -1;
+	}
+	doc.addAnnotations(names);
+    }
+
+    private synchronized String typeName (int typeID) {
+	return typeNames.get(typeID);
+    }
+
+}
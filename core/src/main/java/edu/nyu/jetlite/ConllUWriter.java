@@ -0,0 +1,193 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Writes the tokens of each document in CoNLL-U form, a sentence at a
+ *  time:  for each token, its number within the sentence, its text, its
+ *  part of speech (as XPOS), and the number and relation of its head in
+ *  the dependency parse.  LEMMA, UPOS, FEATS and DEPS are left as "_".
+ *  <p>
+ *  DepParser treats a name as a single word, with its arcs on the name;  here
+ *  these arcs go to the last token of the name, and its other tokens depend
+ *  on that one with relation "flat".  In a parsed sentence, tokens with no
+ *  head are given head 0 and relation "root";  if a sentence has not been
+ *  parsed, HEAD and DEPREL are "_".  Tokens outside any sentence are left out.
+ */
+
+public class ConllUWriter extends DocumentWriter {
+
+    public ConllUWriter (OutputStream stream) {
+	super(stream);
+    }
+
+    public void write (Document doc, String id) throws IOException {
+	List<Annotation> tokens = inOrder(doc.annotationList("token"));
+	List<Annotation> sentences = inOrder(doc.annotationList("sentence"));
+	int n = tokens.size();
+	int[] start = new int[n];
+	for (int k = 0; k < n; k++)
+	    start[k] = tokens.get(k).start();
+	// the head of each token, as an index in 'tokens', and its relation
+	int[] head = new int[n];
+	String[] relation = new String[n];
+	Arrays.fill(head, -1);
+	addArcs(tokens, start, head, relation);
+	for (String type : DepParser.SPECIAL_TOKEN)
+	    addArcs(doc.annotationList(type), start, head, relation);
+	for (String type : DepParser.SPECIAL_TOKEN) {
+	    for (Annotation a : doc.annotationList(type)) {
+		int last = lastToken(a, start);
+		for (int k = last - 1; k >= 0 && start[k] >= a.start(); k--) {
+		    if (head[k] < 0) {
+			head[k] = last;
+			relation[k] = "flat";
+		    }
+		}
+	    }
+	}
+	out.write("# newdoc");
+	if (id != null) {
+	    out.write(" id = ");
+	    out.write(id);
+	}
+	out.write('\n');
+	int k = 0;
+	int sentenceNumber = 0;
+	for (Annotation sentence : sentences) {
+	    while (k < n && start[k] < sentence.start())
+		k++;
+	    int first = k;
+	    while (k < n && tokens.get(k).end() <= sentence.end())
+		k++;
+	    if (k == first)
+		continue;
+	    boolean parsed = false;
+	    for (int j = first; j < k; j++)
+		if (head[j] >= 0)
+		    parsed = true;
+	    sentenceNumber++;
+	    out.write("# sent_id = ");
+	    if (id != null) {
+		out.write(id);
+		out.write('-');
+	    }
+	    out.write(Integer.toString(sentenceNumber));
+	    out.write("\n# text = ");
+	    writeCollapsed(doc, start[first], tokens.get(k - 1).end());
+	    out.write('\n');
+	    for (int j = first; j < k; j++) {
+		Annotation token = tokens.get(j);
+		int end = token.end();
+		while (end > token.start() && Character.isWhitespace(doc.charAt(end - 1)))
+		    end--;
+		out.write(Integer.toString(j - first + 1));
+		out.write('\t');
+		writeCollapsed(doc, token.start(), end);
+		out.write("\t_\t_\t");
+		String pos = (token instanceof Token) ? ((Token) token).getPos() : null;
+		out.write(pos == null ? "_" : pos);
+		out.write("\t_\t");
+		if (head[j] >= first && head[j] < k) {
+		    out.write(Integer.toString(head[j] - first + 1));
+		    out.write('\t');
+		    out.write(relation[j]);
+		} else if (parsed) {
+		    out.write("0\troot");
+		} else {
+		    out.write("_\t_");
+		}
+		out.write("\t_\t");
+		boolean spaceAfter = end < token.end()
+		    || end >= doc.length() || Character.isWhitespace(doc.charAt(end));
+		out.write(spaceAfter ? "_" : "SpaceAfter=No");
+		out.write('\n');
+	    }
+	    out.write('\n');
+	}
+    }
+
+    /**
+     *  Records the dependency arcs of 'heads', each from the last token of
+     *  the head to the last token of the dependent.
+     */
+
+    private static void addArcs (List<Annotation> heads, int[] start, int[] head, String[] relation) {
+	for (Annotation a : heads) {
+	    if (!(a instanceof Mention))
+		continue;
+	    Mention m = (Mention) a;
+	    List<Mention> dependents = m.getDependents();
+	    if (dependents == null)
+		continue;
+	    int h = lastToken(m, start);
+	    for (int i = 0; i < dependents.size(); i++) {
+		int d = lastToken(dependents.get(i), start);
+		if (h >= 0 && d >= 0) {
+		    head[d] = h;
+		    relation[d] = m.getDepRelations().get(i);
+		}
+	    }
+	}
+    }
+
+    /**
+     *  Returns 'annotations' if they are in order of their starts, and
+     *  otherwise a sorted copy.  (Annotations are usually added in order,
+     *  but zones annotated in parallel may add them out of order.)
+     */
+
+    private static List<Annotation> inOrder (List<Annotation> annotations) {
+	for (int i = 1; i < annotations.size(); i++) {
+	    if (annotations.get(i).start() < annotations.get(i - 1).start()) {
+		List<Annotation> sorted = new ArrayList<Annotation>(annotations);
+		Annotation.sortByStartPosition(sorted);
+		return sorted;
+	    }
+	}
+	return annotations;
+    }
+
+    /**
+     *  Returns the index of the last token starting within annotation 'a',
+     *  given the starts of the tokens, or -1 if there is none.
+     */
+
+    private static int lastToken (Annotation a, int[] start) {
+	int k = Arrays.binarySearch(start, a.end());
+	// the first token starting at or after the end of 'a'
+	if (k < 0)
+	    k = -k - 1;
+	k--;
+	return (k >= 0 && start[k] >= a.start()) ? k : -1;
+    }
+
+    /**
+     *  Writes the characters of 'doc' from 'start' to 'end', with each run
+     *  of whitespace written as a single blank.
+     */
+
+    private void writeCollapsed (Document doc, int start, int end) throws IOException {
+	boolean space = false;
+	for (int i = start; i < end; i++) {
+	    char c = doc.charAt(i);
+	    if (Character.isWhitespace(c)) {
+		space = true;
+	    } else {
+		if (space)
+		    out.write(' ');
+		space = false;
+		out.write(c);
+	    }
+	}
+    }
+}
@@ -0,0 +1,169 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.util.*;
+
+/**
+ *  A skeleton of an in-document coreference analyzer.  Inludes only two
+ *  forms of coreference:  syntactic structures (apposition and copula)
+ *  and shared names.
+ */
+
+public class Coref extends Annotator {
+
+    boolean trace;
+
+    public Coref (Properties config) {
+	trace = config.getProperty("Coref.trace") != null;
+    }
+
+    public String[] requires () {
+	return new String[] {"token", "pos", "enamex", "dependency"};
+    }
+
+    public String[] produces () {
+	return new String[] {"entity"};
+    }
+
+    public Document annotate (Document doc, Span span) {
+	List<Mention> mentions = gatherMentions(doc, span);
+	PipelineStats.count(PipelineStats.MENTIONS, mentions.size());
+	UnionFind merges = new UnionFind(mentions.size());
+	syntacticCoref (doc, mentions, merges);
+	nameCoref (doc, mentions, merges);
+	createEntities (doc, mentions, merges);
+	return doc;
+    }
+
+    static List<String> npHeads = new ArrayList<String>();
+    static{npHeads.add("NN");}
+    static{npHeads.add("NNS");}
+    static{npHeads.add("PRP");}
+    static{npHeads.add("PRP$");}
+
+    /**
+     *  Collects a list of all mentions in Document 'doc'.  This includes
+     *  all Enamexs and all Tokens which are not shadowed by an Enamex.
+     */
+
+    static public List<Mention> gatherMentions (Document doc, Span span) {
+	List<Mention> mentions = new ArrayList<Mention>();
+	int posn = span.start();
+	posn = doc.skipWhitespace(posn, span.end());
+	while (posn < span.end()) {
+	    List<Enamex> v = (List) doc.annotationsAt(posn, "enamex");
+	    if (v != null && !v.isEmpty()) {
+		Enamex a = (Enamex) v.get(0);
+		mentions.add(a);
+		posn = a.end();
+	    } else {
+		Token a = (Token) doc.tokenAt(posn);
+		if (a == null)
+		    break;
+		String pos =  a.getPos();
+		if (npHeads.contains(pos))
+		    mentions.add(a);
+		posn = a.end();
+	    }
+	}
+	return mentions;
+    }
+    /**
+     *  Builds the Entity annotations in a single pass over the mentions,
+     *  creating one entity for each set of coreferential mentions in
+     *  'merges'.  The span of each entity is the span of its first mention.
+     */
+
+    public Document createEntities (Document doc, List<Mention> mentions, UnionFind merges) {
+	Entity[] entityOf = new Entity[mentions.size()];
+	List<Entity> entities = new ArrayList<Entity>();
+	for (int i = 0; i < mentions.size(); i++) {
+	    Mention mention = mentions.get(i);
+	    int root = merges.find(i);
+	    Entity e = entityOf[root];
+	    if (e == null) {
+		e = new Entity(mention.span());
+		e.setMentions(new ArrayList<Mention>());
+		entities.add(e);
+		entityOf[root] = e;
+	    }
+	    e.getMentions().add(mention);
+	    mention.setMentionOf(e);
+	}
+	doc.addAnnotations(entities);
+	return doc;
+    }
+
+    /**
+     *  Identifies instances of syntactic coreference, due to apposition
+     *  and copula constructions.
+     */
+
+    public void syntacticCoref (Document doc, List<Mention> mentions, UnionFind merges) {
+	Map<Mention, Integer> index = new IdentityHashMap<Mention, Integer>();
+	for (int i = 0; i < mentions.size(); i++)
+	    index.put(mentions.get(i), i);
+	for (Mention mention : mentions) {
+	    List<String> depRelations = mention.getDepRelations();
+	    if (depRelations == null)
+		continue;
+	    List<Mention> dependents = mention.getDependents();
+	    int indexAppos = depRelations.indexOf("appos");
+	    if (indexAppos >= 0) {
+		isCoref (doc, mentions, merges, index.get(mention),
+			 index.get(dependents.get(indexAppos)));
+	    }
+	    int indexNsubj = depRelations.indexOf("nsubj");
+	    int indexCop = depRelations.indexOf("Cop");
+	    if (indexNsubj >= 0 && indexCop >= 0) {
+		isCoref (doc, mentions, merges, index.get(dependents.get(indexNsubj)),
+			 index.get(dependents.get(indexCop)));
+	    }
+	}
+    }
+
+    /**
+     *  Records that mentions i and j (indices into 'mentions') are
+     *  coreferential.  Does nothing if either is not a mention.
+     */
+
+    void isCoref (Document doc, List<Mention> mentions, UnionFind merges, Integer i, Integer j) {
+	if (i == null || j == null)
+	    return;
+	if (merges.union(i, j) && trace) System.out.println(
+	       doc.normalizedText(mentions.get(i)) + " and " +
+	       doc.normalizedText(mentions.get(j)) + " marked corefertial");
+    }
+
+    /**
+     *  Implements simple name coreference:  if there are two mentions
+     *  which are both names, and the second name is a subset of the first
+     *  name, mark the mentions as coreferential.
+     */
+
+    public void nameCoref (Document doc, List<Mention> mentions, UnionFind merges) {
+	List<Integer> names = new ArrayList<Integer>();
+	for (int i = 0; i < mentions.size(); i++)
+	    if (mentions.get(i) instanceof Enamex)
+		names.add(i);
+	for (int i : names) {
+	    List<String> name1 = ((Enamex) mentions.get(i)).getTokens();
+	    if (name1 == null) continue;
+	    for (int j : names) {
+		if (merges.find(i) == merges.find(j)) continue;
+		List<String> name2 = ((Enamex) mentions.get(j)).getTokens();
+		if (name2 == null) continue;
+		if (Collections.indexOfSubList(name1, name2) >= 0)
+		    isCoref (doc, mentions, merges, i, j);
+	    }
+	}
+    }
+
+}
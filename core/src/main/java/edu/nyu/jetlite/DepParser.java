@@ -8,6 +8,7 @@
 package edu.nyu.jetlite;
 
 import java.util.*;
+import java.io.*;
 
 import tratz.parse.*;
 import tratz.parse.types.Arc;
@@ -31,6 +32,13 @@ public class DepParser extends Annotator {
     public DepParser (Properties config) {
 	String parseModelFile = config.getProperty("DepParser.model.fileName");
 	if (parseModelFile != null) {
+	    try {
+		File modelFile = MaxEntModel.modelFile(parseModelFile);
+		if (modelFile != null)
+		    parseModelFile = modelFile.getPath();
+	    } catch (IOException e) {
+		System.out.println(e);
+	    }
 	    initWrapper(parseModelFile);
 	}
     }
@@ -62,6 +70,14 @@ public class DepParser extends Annotator {
 	return fsw != null;
     }
 	
+    public String[] requires () {
+	return new String[] {"token", "sentence", "pos", "enamex"};
+    }
+
+    public String[] produces () {
+	return new String[] {"dependency"};
+    }
+
     public Document annotate (Document doc, Span span) {
 	parseSentence (doc, span);
 	return doc;
@@ -93,10 +109,11 @@ public class DepParser extends Annotator {
 
     /**
      *  generate the dependency parse for a sentence, adding its arcs to
-     *  'relations'.
+     *  'relations'.  The parser is shared by all threads, so only one
+     *  sentence is parsed at a time.
      */
 
-    public static void parseSentence (Document doc, Span span) {
+    public static synchronized void parseSentence (Document doc, Span span) {
 	if (fsw == null) {
 	    System.out.println ("DepParser:  no model loaded");
 	    return;
@@ -0,0 +1,155 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Writes annotated documents to an output stream, one document at a time.
+ *  Each document is written straight to a buffered stream as it is read,
+ *  rather than first being assembled as a String.
+ *  <p>
+ *  The formats are "text" (the document text followed by its annotations,
+ *  as given by Document.toString), "jsonl" (see JsonDocumentWriter),
+ *  "conllu" (see ConllUWriter) and "standoff" (see StandoffWriter).
+ */
+
+public abstract class DocumentWriter {
+
+    static final List<String> FORMATS = Arrays.asList("text", "jsonl", "conllu", "standoff");
+
+    protected Writer out;
+
+    /**
+     *  Returns a writer of 'format' to 'stream', or null (after printing a
+     *  message) if there is no such format.
+     */
+
+    public static DocumentWriter create (String format, OutputStream stream) {
+	if (format.equals("text"))
+	    return new TextDocumentWriter(stream);
+	else if (format.equals("jsonl"))
+	    return new JsonDocumentWriter(stream);
+	else if (format.equals("conllu"))
+	    return new ConllUWriter(stream);
+	else if (format.equals("standoff"))
+	    return new StandoffWriter(stream);
+	System.out.println("Unknown output format " + format + ";  use one of " + FORMATS);
+	return null;
+    }
+
+    protected DocumentWriter (OutputStream stream) {
+	try {
+	    out = new BufferedWriter(new OutputStreamWriter(stream, "UTF-8"), 1 << 16);
+	} catch (UnsupportedEncodingException e) {
+	    throw new RuntimeException(e);
+	}
+    }
+
+    /**
+     *  Writes Document 'doc', identified by 'id' (which may be null).
+     */
+
+    public abstract void write (Document doc, String id) throws IOException;
+
+    /**
+     *  Writes whatever is still buffered to the stream.
+     */
+
+    public void flush () throws IOException {
+	out.flush();
+    }
+
+    /**
+     *  Writes the features of annotation 'a', by calling feature for each
+     *  one which has a value.
+     */
+
+    protected void writeFeatures (Annotation a) throws IOException {
+	if (a instanceof Mention) {
+	    Mention m = (Mention) a;
+	    feature("mentionOf", m.getMentionOf());
+	    feature("dependents", m.getDependents());
+	    feature("depRelations", m.getDepRelations());
+	}
+	if (a instanceof Token)
+	    feature("pos", ((Token) a).getPos());
+	if (a instanceof Enamex) {
+	    feature("nameType", ((Enamex) a).getNameType());
+	    feature("tokens", ((Enamex) a).getTokens());
+	}
+	if (a instanceof Entity) {
+	    feature("mentions", ((Entity) a).getMentions());
+	    feature("semType", ((Entity) a).getSemType());
+	}
+	if (a instanceof RelationMention)
+	    feature("semType", ((RelationMention) a).getSemType());
+	if (a instanceof EventMention)
+	    feature("semType", ((EventMention) a).getSemType());
+    }
+
+    /**
+     *  Writes feature 'name' with 'value', which is not null and is a String,
+     *  an Annotation or a List of these.  Does nothing unless overridden.
+     */
+
+    protected void feature (String name, Object value) throws IOException {
+    }
+
+    /**
+     *  Writes the characters of 'doc' from 'start' to 'end'.
+     */
+
+    protected void writeText (Document doc, int start, int end) throws IOException {
+	for (int i = start; i < end; i++)
+	    out.write(doc.charAt(i));
+    }
+
+    /**
+     *  Writes the characters of 'doc' from 'start' to 'end' as a JSON string.
+     */
+
+    protected void quote (Document doc, int start, int end) throws IOException {
+	out.write('"');
+	for (int i = start; i < end; i++)
+	    escape(doc.charAt(i));
+	out.write('"');
+    }
+
+    /**
+     *  Writes 's' as a JSON string, or null if 's' is null.
+     */
+
+    protected void quote (String s) throws IOException {
+	if (s == null) {
+	    out.write("null");
+	    return;
+	}
+	out.write('"');
+	for (int i = 0; i < s.length(); i++)
+	    escape(s.charAt(i));
+	out.write('"');
+    }
+
+    private void escape (char c) throws IOException {
+	switch (c) {
+	case '"':  out.write("\\\""); break;
+	case '\\': out.write("\\\\"); break;
+	case '\n': out.write("\\n"); break;
+	case '\r': out.write("\\r"); break;
+	case '\t': out.write("\\t"); break;
+	default:
+	    if (c < 0x20)
+		out.write(String.format("\\u%04x", (int) c));
+	    else
+		out.write(c);
+	}
+    }
+}
@@ -0,0 +1,388 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ *  A cross-document store of named entities.  Entities produced by Coref and
+ *  typed by EntityTagger are linked, document by document, to global
+ *  entities with the same semType and a matching name.  A name matches if
+ *  it is, once normalized, one of the names of the global entity.  Failing
+ *  that, it matches by its head (last token) if exactly one global entity
+ *  has a name with the same head, and each name of that entity with this
+ *  head has all the tokens of the name or all its tokens are in the name
+ *  (so "Smith" matches "John Smith", but "John Smith" does not match
+ *  "Jane Smith").  Only the names of an entity matched in full (or of a new
+ *  entity) are added to the store;  a head match adds no names, so one
+ *  short name cannot draw unrelated entities together.
+ *  <p>
+ *  Candidates are found through two blocking indexes:  one on the full
+ *  normalized name and one on the head of each name.  A head block is only
+ *  scanned if it holds at most MAX_BLOCK entities, so the cost of a lookup
+ *  does not grow with the size of the store.
+ *  <p>
+ *  The store is kept on disk as a log, one record per line, which is
+ *  replayed when the store is opened:  <br>
+ *  E id semType name   -- a new global entity  <br>
+ *  A id name           -- an additional name for entity id  <br>
+ *  D id docId          -- entity id is mentioned in document docId  <br>
+ *  N id docCount       -- entity id is mentioned in docCount documents  <br>
+ *  Records are appended (and flushed) as each document is added.  When the
+ *  store is closed, the log is replaced by a snapshot holding only E, A
+ *  and N records, so that its size, and the time to replay it, grow with
+ *  the number of entities rather than of documents;  after a crash, the
+ *  records appended since the last snapshot are replayed after it.  Tabs,
+ *  newlines and backslashes in docIds are escaped by backslashes.
+ */
+
+public class EntityStore {
+
+    /**
+     *  the largest head block which is scanned for candidates.
+     */
+
+    static final int MAX_BLOCK = 1000;
+
+    /**
+     *  An entity in the store.
+     */
+
+    public static class GlobalEntity {
+
+	int id;
+
+	String semType;
+
+	List<List<String>> names = new ArrayList<List<String>>();
+
+	int docCount;
+
+	GlobalEntity (int id, String semType) {
+	    this.id = id;
+	    this.semType = semType;
+	}
+
+	public int getId () {return id;}
+
+	public String getSemType () {return semType;}
+
+	public List<List<String>> getNames () {return names;}
+
+	public int getDocCount () {return docCount;}
+    }
+
+    List<GlobalEntity> entities = new ArrayList<GlobalEntity>();
+
+    // normalized full name (tokens joined by blanks) --> ids
+    Map<String, List<Integer>> nameIndex = new HashMap<String, List<Integer>>();
+
+    // last token of a normalized name --> ids
+    Map<String, List<Integer>> headIndex = new HashMap<String, List<Integer>>();
+
+    File file;
+
+    PrintWriter log;
+
+    /**
+     *  Opens the store.  Property EntityStore.fileName specifies the file
+     *  holding the store;  it is created if it does not exist.
+     */
+
+    public EntityStore (Properties config) throws IOException {
+	this(config.getProperty("EntityStore.fileName"));
+    }
+
+    /**
+     *  Opens the store held in file 'fileName', creating it if it
+     *  does not exist.
+     */
+
+    public EntityStore (String fileName) throws IOException {
+	file = new File(fileName);
+	if (file.exists())
+	    replay(file);
+	log = new PrintWriter(new BufferedWriter(new FileWriter(file, true)));
+    }
+
+    private void replay (File file) throws IOException {
+	BufferedReader reader = new BufferedReader(new FileReader(file));
+	String line;
+	while ((line = reader.readLine()) != null) {
+	    String[] field = line.split("\t");
+	    if (field[0].equals("E") && field.length == 4) {
+		GlobalEntity g = newEntity(field[2]);
+		addName(g, Arrays.asList(field[3].split(" ")));
+	    } else if (field[0].equals("A") && field.length == 3) {
+		addName(entities.get(Integer.parseInt(field[1])),
+			Arrays.asList(field[2].split(" ")));
+	    } else if (field[0].equals("D") && field.length == 3) {
+		entities.get(Integer.parseInt(field[1])).docCount++;
+	    } else if (field[0].equals("N") && field.length == 3) {
+		entities.get(Integer.parseInt(field[1])).docCount = Integer.parseInt(field[2]);
+	    } else {
+		System.out.println("EntityStore:  bad line " + line);
+	    }
+	}
+	reader.close();
+    }
+
+    /**
+     *  Links all the named entities of Document 'doc' (those with a semType
+     *  other than "other") to global entities, adding new global entities
+     *  as needed.  Returns a map from each linked Entity to the id of its
+     *  global entity.
+     */
+
+    public synchronized Map<Entity, Integer> addDocument (Document doc, String docId) {
+	Map<Entity, Integer> links = new LinkedHashMap<Entity, Integer>();
+	Vector<Annotation> docEntities = doc.annotationsOfType("entity");
+	if (docEntities == null)
+	    return links;
+	Set<Integer> seen = new HashSet<Integer>();
+	for (Annotation a : docEntities) {
+	    Entity entity = (Entity) a;
+	    String semType = entity.getSemType();
+	    if (semType == null || semType.equals("other"))
+		continue;
+	    List<List<String>> names = namesOf(doc, entity);
+	    if (names.isEmpty())
+		continue;
+	    GlobalEntity g = null;
+	    for (List<String> name : names) {
+		g = lookup(semType, name);
+		if (g != null) break;
+	    }
+	    boolean fullMatch = g != null;
+	    for (int i = 0; i < names.size() && g == null; i++)
+		g = lookupByHead(semType, names.get(i));
+	    if (g == null) {
+		g = newEntity(semType);
+		log.println("E\t" + g.id + "\t" + semType + "\t" + join(names.get(0)));
+		fullMatch = true;
+	    }
+	    if (fullMatch) {
+		for (List<String> name : names) {
+		    if (!g.names.contains(name)) {
+			if (!g.names.isEmpty())
+			    log.println("A\t" + g.id + "\t" + join(name));
+			addName(g, name);
+		    }
+		}
+	    }
+	    if (seen.add(g.id)) {
+		g.docCount++;
+		log.println("D\t" + g.id + "\t" + escape(docId));
+	    }
+	    links.put(entity, g.id);
+	}
+	log.flush();
+	return links;
+    }
+
+    /**
+     *  Returns the global entity of type 'semType' which has the normalized
+     *  name 'name', or null if there is none.  If several do, returns the
+     *  one found in the most documents.
+     */
+
+    public synchronized GlobalEntity lookup (String semType, List<String> name) {
+	GlobalEntity best = null;
+	List<Integer> ids = nameIndex.get(join(name));
+	if (ids == null)
+	    return null;
+	for (int id : ids) {
+	    GlobalEntity g = entities.get(id);
+	    if (g.semType.equals(semType) && (best == null || g.docCount > best.docCount))
+		best = g;
+	}
+	return best;
+    }
+
+    /**
+     *  Returns the one global entity of type 'semType' whose names match
+     *  normalized name 'name' by their head, or null if there is no such
+     *  entity or more than one.
+     */
+
+    public synchronized GlobalEntity lookupByHead (String semType, List<String> name) {
+	String head = name.get(name.size() - 1);
+	List<Integer> block = headIndex.get(head);
+	if (block == null || block.size() > MAX_BLOCK)
+	    return null;
+	GlobalEntity match = null;
+	for (int id : block) {
+	    GlobalEntity g = entities.get(id);
+	    if (!g.semType.equals(semType) || !headMatch(g, head, name))
+		continue;
+	    if (match != null)
+		return null;
+	    match = g;
+	}
+	return match;
+    }
+
+    /**
+     *  Returns true if every name of 'g' with head 'head' either contains
+     *  all the tokens of 'name' or has all its tokens in 'name'.
+     */
+
+    private static boolean headMatch (GlobalEntity g, String head, List<String> name) {
+	boolean found = false;
+	for (List<String> n : g.names) {
+	    if (!n.get(n.size() - 1).equals(head))
+		continue;
+	    if (!n.containsAll(name) && !name.containsAll(n))
+		return false;
+	    found = true;
+	}
+	return found;
+    }
+
+    /**
+     *  Returns the global entity with id 'id'.
+     */
+
+    public synchronized GlobalEntity get (int id) {
+	return entities.get(id);
+    }
+
+    /**
+     *  Returns the number of global entities.
+     */
+
+    public synchronized int size () {
+	return entities.size();
+    }
+
+    /**
+     *  Writes any buffered records to disk.
+     */
+
+    public synchronized void flush () {
+	log.flush();
+    }
+
+    /**
+     *  Closes the store, replacing its log by a snapshot of the entities.
+     */
+
+    public synchronized void close () throws IOException {
+	log.close();
+	// write to a temporary file and rename it, so that a crash while
+	// writing leaves the old log in place
+	File temp = new File(file.getPath() + ".tmp");
+	PrintWriter snapshot = new PrintWriter(new BufferedWriter(new FileWriter(temp)));
+	for (GlobalEntity g : entities) {
+	    for (int i = 0; i < g.names.size(); i++) {
+		if (i == 0)
+		    snapshot.println("E\t" + g.id + "\t" + g.semType + "\t" + join(g.names.get(i)));
+		else
+		    snapshot.println("A\t" + g.id + "\t" + join(g.names.get(i)));
+	    }
+	    snapshot.println("N\t" + g.id + "\t" + g.docCount);
+	}
+	snapshot.close();
+	if (snapshot.checkError())
+	    throw new IOException("EntityStore:  cannot write " + temp);
+	Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private GlobalEntity newEntity (String semType) {
+	GlobalEntity g = new GlobalEntity(entities.size(), semType);
+	entities.add(g);
+	return g;
+    }
+
+    private void addName (GlobalEntity g, List<String> name) {
+	g.names.add(name);
+	index(nameIndex, join(name), g.id);
+	index(headIndex, name.get(name.size() - 1), g.id);
+    }
+
+    private static void index (Map<String, List<Integer>> map, String key, int id) {
+	List<Integer> ids = map.get(key);
+	if (ids == null) {
+	    ids = new ArrayList<Integer>(1);
+	    map.put(key, ids);
+	}
+	if (!ids.contains(id))
+	    ids.add(id);
+    }
+
+    /**
+     *  Returns the normalized names of the Enamex mentions of 'entity'.
+     */
+
+    static List<List<String>> namesOf (Document doc, Entity entity) {
+	List<List<String>> names = new ArrayList<List<String>>();
+	List<Mention> mentions = entity.getMentions();
+	if (mentions == null)
+	    return names;
+	for (Mention m : mentions) {
+	    if (!(m instanceof Enamex))
+		continue;
+	    List<String> name = normalizeName(doc.normalizedText(m));
+	    if (!name.isEmpty() && !names.contains(name))
+		names.add(name);
+	}
+	return names;
+    }
+
+    /**
+     *  Splits a name into lower-case tokens, dropping all characters other
+     *  than letters and digits.
+     */
+
+    static List<String> normalizeName (String text) {
+	List<String> tokens = new ArrayList<String>();
+	StringBuilder sb = new StringBuilder();
+	for (int i = 0; i <= text.length(); i++) {
+	    char c = (i < text.length()) ? text.charAt(i) : ' ';
+	    if (Character.isLetterOrDigit(c)) {
+		sb.append(Character.toLowerCase(c));
+	    } else if (Character.isWhitespace(c) && sb.length() > 0) {
+		tokens.add(sb.toString());
+		sb.setLength(0);
+	    }
+	}
+	return tokens;
+    }
+
+    /**
+     *  Escapes tabs, newlines and backslashes in 's' so that it can be
+     *  written as one field of a record.
+     */
+
+    static String escape (String s) {
+	StringBuilder sb = new StringBuilder();
+	for (int i = 0; i < s.length(); i++) {
+	    char c = s.charAt(i);
+	    switch (c) {
+	    case '\\': sb.append("\\\\"); break;
+	    case '\t': sb.append("\\t"); break;
+	    case '\n': sb.append("\\n"); break;
+	    case '\r': sb.append("\\r"); break;
+	    default:   sb.append(c);
+	    }
+	}
+	return sb.toString();
+    }
+
+    private static String join (List<String> name) {
+	StringBuilder sb = new StringBuilder();
+	for (String token : name) {
+	    if (sb.length() > 0) sb.append(' ');
+	    sb.append(token);
+	}
+	return sb.toString();
+    }
+}
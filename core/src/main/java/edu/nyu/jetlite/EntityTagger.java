@@ -0,0 +1,59 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Assigns semantic type information to entities.  Each entity is tagged with
+ *  one of tihe ACE types (person, organization, location, GPE, facility,
+ *  vehicle, or weapon) or "other".
+ */
+
+public class EntityTagger extends Annotator {
+
+    String modelFileName;
+
+    MaxEntModel model;
+
+    public EntityTagger (Properties config) throws IOException {
+	modelFileName = config.getProperty("EntityTagger.model.fileName");
+	model = new MalletMaxEntModel(modelFileName, "EntityTagger");
+    }
+
+    Datum entityFeatures (String word) {
+	Datum d = new Datum(model);
+	d.addF(word);
+	return d;
+    }
+
+    public String[] requires () {
+	return new String[] {"entity"};
+    }
+
+    public String[] produces () {
+	return new String[] {"entitytype"};
+    }
+
+    public Document annotate (Document doc, Span span) {
+	if (!model.isLoaded())
+	    model.loadModel();
+	Vector<Annotation> entities = doc.annotationsOfType("entity", span);
+	if (entities == null)
+	    return doc;
+	for (Annotation entity : entities) {
+	    String tokenText = doc.normalizedText(entity);
+	    Datum d = entityFeatures(tokenText);
+	    String prediction = model.getBestOutcome(d.toArray());
+	    ((Entity) entity).setSemType(prediction);
+	}
+	return doc;
+    }
+}
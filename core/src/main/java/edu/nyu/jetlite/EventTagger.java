@@ -0,0 +1,96 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Identify ACE events.
+ *  <p>
+ *  This 'skeleton' tagger does not include finding event arguments.
+ */
+
+public class EventTagger extends Annotator {
+
+    // the file containing the MaxEnt model
+    String modelFileName;
+
+    // the MaxEnt model
+    MaxEntModel model;
+
+    // where events found by annotate are recorded
+    ResultSink sink = new NullSink();
+
+    /**
+     *  Create a new EventTagger.
+     *
+     *  @param  config  A jet property file.  Property EventTagger.model.fileName
+     *                 specifies the file to contain the model.
+     */
+
+    public EventTagger (Properties config) throws IOException {
+	modelFileName = config.getProperty("EventTagger.model.fileName");
+	model = new MalletMaxEntModel(modelFileName, "EventTagger");
+    }
+
+    /**
+     *  Sets the ResultSink to which annotate writes the events it finds.
+     */
+
+    public void setSink (ResultSink sink) {
+	this.sink = sink;
+    }
+
+    /**
+     *  Features for event tagging
+     *  <p>
+     *  Initially we have only one feature, the trigger word itelf.  This already does
+     *  quite well.  Will need to expand to include the event arguments and the
+     *  document topic.
+     */
+
+    Datum eventFeatures (String word) {
+	Datum d = new Datum(model);
+	d.addF(word);
+	return d;
+    }
+
+    public String[] requires () {
+	return new String[] {"token"};
+    }
+
+    public String[] produces () {
+	return new String[] {"event"};
+    }
+
+    /**
+     *  Annotate a document with EventMention annotations.
+     */
+
+    public Document annotate (Document doc, Span span) {
+	if (!model.isLoaded())
+	    model.loadModel();
+	Vector<Annotation> tokens = doc.annotationsOfType("token", span);
+	if (tokens == null)
+	    return doc;
+	for (Annotation token : tokens) {
+	    String tokenText = doc.normalizedText(token);
+	    Datum d = eventFeatures(tokenText);
+	    String prediction = model.getBestOutcome(d.toArray());
+	    if ( !prediction.equals("other")) {
+		EventMention em = new EventMention(token.span());
+		doc.addAnnotation (em);
+		em.setSemType(prediction);
+		sink.event(doc, em);
+	    }
+	}
+	return doc;
+    }
+}
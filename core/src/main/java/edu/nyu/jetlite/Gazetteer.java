@@ -0,0 +1,334 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ *  A list of names of persons, organizations, locations, etc., compiled
+ *  into an Aho-Corasick automaton over tokens, so that all the names in a
+ *  sentence are found in one pass over its tokens.
+ *  <p>
+ *  The list is a file with one name per line:  the type of the name, a
+ *  tab, and the tokens of the name separated by blanks.  Tokens are matched
+ *  exactly (including case).  There may be at most 16 types.
+ */
+
+public class Gazetteer {
+
+    static final int MAX_TYPES = 16;
+
+    // the gazetteers loaded so far, by file name
+    static final Map<String, Gazetteer> loaded = new HashMap<String, Gazetteer>();
+
+    // the number of each distinct token of the names
+    Map<String, Integer> tokenIDs = new HashMap<String, Integer>();
+
+    List<String> typeNames = new ArrayList<String>();
+
+    // "B-type" and "I-type" for each type, indexed by bit number (see match)
+    String[] labels = new String[2 * MAX_TYPES];
+
+    // the transitions of the automaton:  the node reached from node n by
+    // token t is values[i], where keys[i] = (n << 32) | t, found by
+    // open addressing;  empty slots have key -1
+    long[] keys;
+    int[] values;
+    int nEdges;
+
+    // for each node:  the number of tokens leading to it from the root,
+    // the node reached on failure, the nearest node on the failure chain
+    // at which a name ends (0 if none), and the types of the names ending
+    // at the node, as a bit mask
+    int[] depth;
+    int[] fail;
+    int[] outLink;
+    int[] typeMask;
+    int nNodes;
+
+    // used only while the automaton is built
+    int[] parent;
+    int[] parentToken;
+
+    int nEntries;
+
+    /**
+     *  Returns the gazetteer in file 'fileName', reading it the first time
+     *  it is requested.
+     */
+
+    public static synchronized Gazetteer load (String fileName) throws IOException {
+	Gazetteer g = loaded.get(fileName);
+	if (g == null) {
+	    File file = MaxEntModel.modelFile(fileName);
+	    if (file == null)
+		throw new IOException("Gazetteer file " + fileName + " does not exist.");
+	    long start = System.nanoTime();
+	    BufferedReader reader = new BufferedReader(new FileReader(file));
+	    try {
+		g = new Gazetteer(reader);
+	    } finally {
+		reader.close();
+	    }
+	    long ms = (System.nanoTime() - start) / 1000000;
+	    System.err.println("Gazetteer " + fileName + ": " + g.nEntries + " names, "
+			       + g.nNodes + " nodes, built in " + ms + " ms, about "
+			       + g.memory() / Math.max(g.nEntries, 1) + " bytes per name");
+	    loaded.put(fileName, g);
+	}
+	return g;
+    }
+
+    /**
+     *  Builds a gazetteer from the names read from 'reader'.
+     */
+
+    public Gazetteer (BufferedReader reader) throws IOException {
+	keys = new long[1024];
+	Arrays.fill(keys, -1L);
+	values = new int[1024];
+	depth = new int[1024];
+	fail = new int[1024];
+	outLink = new int[1024];
+	typeMask = new int[1024];
+	parent = new int[1024];
+	parentToken = new int[1024];
+	nNodes = 1;
+	String line;
+	while ((line = reader.readLine()) != null) {
+	    int tab = line.indexOf('\t');
+	    if (tab < 0) {
+		if (!line.trim().equals(""))
+		    System.out.println("Gazetteer:  bad line " + line);
+		continue;
+	    }
+	    String[] tokens = line.substring(tab + 1).trim().split("\\s+");
+	    if (tokens[0].equals(""))
+		continue;
+	    add(line.substring(0, tab).trim(), tokens);
+	}
+	buildFailureLinks();
+	parent = null;
+	parentToken = null;
+    }
+
+    /**
+     *  Adds name 'tokens' of type 'type'.
+     */
+
+    void add (String type, String[] tokens) {
+	int typeID = typeNames.indexOf(type);
+	if (typeID < 0) {
+	    if (typeNames.size() == MAX_TYPES) {
+		System.out.println("Gazetteer:  too many types, ignoring " + type);
+		return;
+	    }
+	    typeID = typeNames.size();
+	    typeNames.add(type);
+	    labels[2 * typeID] = "B-" + type;
+	    labels[2 * typeID + 1] = "I-" + type;
+	}
+	int node = 0;
+	for (String token : tokens) {
+	    Integer t = tokenIDs.get(token);
+	    if (t == null) {
+		t = tokenIDs.size();
+		tokenIDs.put(token, t);
+	    }
+	    int next = next(node, t);
+	    if (next < 0)
+		next = addNode(node, t);
+	    node = next;
+	}
+	typeMask[node] |= 1 << typeID;
+	nEntries++;
+    }
+
+    private int addNode (int from, int token) {
+	if (nNodes == depth.length) {
+	    int n = 2 * nNodes;
+	    depth = Arrays.copyOf(depth, n);
+	    fail = Arrays.copyOf(fail, n);
+	    outLink = Arrays.copyOf(outLink, n);
+	    typeMask = Arrays.copyOf(typeMask, n);
+	    parent = Arrays.copyOf(parent, n);
+	    parentToken = Arrays.copyOf(parentToken, n);
+	}
+	int node = nNodes++;
+	depth[node] = depth[from] + 1;
+	parent[node] = from;
+	parentToken[node] = token;
+	if (2 * (nEdges + 1) > keys.length)
+	    rehash(2 * keys.length);
+	put(((long) from << 32) | token, node);
+	nEdges++;
+	return node;
+    }
+
+    /**
+     *  Returns the node reached from 'node' by 'token', or -1 if none.
+     */
+
+    int next (int node, int token) {
+	long key = ((long) node << 32) | token;
+	int mask = keys.length - 1;
+	int i = hash(key) & mask;
+	while (keys[i] != -1L) {
+	    if (keys[i] == key)
+		return values[i];
+	    i = (i + 1) & mask;
+	}
+	return -1;
+    }
+
+    private void put (long key, int value) {
+	int mask = keys.length - 1;
+	int i = hash(key) & mask;
+	while (keys[i] != -1L)
+	    i = (i + 1) & mask;
+	keys[i] = key;
+	values[i] = value;
+    }
+
+    private void rehash (int size) {
+	long[] oldKeys = keys;
+	int[] oldValues = values;
+	keys = new long[size];
+	Arrays.fill(keys, -1L);
+	values = new int[size];
+	for (int i = 0; i < oldKeys.length; i++)
+	    if (oldKeys[i] != -1L)
+		put(oldKeys[i], oldValues[i]);
+    }
+
+    private static int hash (long key) {
+	long h = key * 0x9E3779B97F4A7C15L;
+	return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     *  Sets the failure and output links of each node, taking the nodes in
+     *  order of depth.
+     */
+
+    private void buildFailureLinks () {
+	int maxDepth = 0;
+	for (int n = 0; n < nNodes; n++)
+	    maxDepth = Math.max(maxDepth, depth[n]);
+	int[] count = new int[maxDepth + 2];
+	for (int n = 0; n < nNodes; n++)
+	    count[depth[n] + 1]++;
+	for (int d = 1; d < count.length; d++)
+	    count[d] += count[d - 1];
+	int[] order = new int[nNodes];
+	for (int n = 0; n < nNodes; n++)
+	    order[count[depth[n]]++] = n;
+	for (int k = 1; k < nNodes; k++) {
+	    int node = order[k];
+	    int token = parentToken[node];
+	    int f = 0;
+	    if (parent[node] != 0) {
+		f = fail[parent[node]];
+		while (f != 0 && next(f, token) < 0)
+		    f = fail[f];
+		int n = next(f, token);
+		f = (n < 0) ? 0 : n;
+	    }
+	    fail[node] = f;
+	    outLink[node] = (typeMask[f] != 0) ? f : outLink[f];
+	}
+    }
+
+    /**
+     *  Finds the names in 'words'.  Returns, for each word, a bit mask of
+     *  the types of the names which begin with the word (bit 2 * type) and
+     *  which continue through the word (bit 2 * type + 1).
+     */
+
+    public int[] match (String[] words) {
+	final int[] result = new int[words.length];
+	match(words, new MatchHandler() {
+	    public void name (int start, int end, int types) {
+		for (int t = 0; types != 0; t++, types >>>= 1) {
+		    if ((types & 1) == 0)
+			continue;
+		    result[start] |= 1 << (2 * t);
+		    for (int i = start + 1; i < end; i++)
+			result[i] |= 1 << (2 * t + 1);
+		}
+	    }
+	});
+	return result;
+    }
+
+    /**
+     *  Receives the names found by match.
+     */
+
+    public interface MatchHandler {
+
+	/**
+	 *  Called for each name found, consisting of words start ... end-1,
+	 *  with 'types' the types of the name as a bit mask.
+	 */
+
+	void name (int start, int end, int types);
+    }
+
+    /**
+     *  Finds all the names in 'words' (including overlapping ones), passing
+     *  each to 'handler'.
+     */
+
+    public void match (String[] words, MatchHandler handler) {
+	int node = 0;
+	for (int j = 0; j < words.length; j++) {
+	    Integer t = tokenIDs.get(words[j]);
+	    if (t == null) {
+		node = 0;
+		continue;
+	    }
+	    while (node != 0 && next(node, t) < 0)
+		node = fail[node];
+	    int n = next(node, t);
+	    node = (n < 0) ? 0 : n;
+	    for (int m = (typeMask[node] != 0) ? node : outLink[node]; m != 0; m = outLink[m])
+		handler.name(j + 1 - depth[m], j + 1, typeMask[m]);
+	}
+    }
+
+    /**
+     *  Returns the label ("B-" or "I-" + type) of bit 'bit' of a mask
+     *  returned by match.
+     */
+
+    public String label (int bit) {
+	return labels[bit];
+    }
+
+    /**
+     *  Returns the name of type number 'type'.
+     */
+
+    public String typeName (int type) {
+	return typeNames.get(type);
+    }
+
+    /**
+     *  Returns (roughly) the number of bytes used by the gazetteer:  the
+     *  arrays of the automaton plus the table of tokens.
+     */
+
+    long memory () {
+	long bytes = 12L * keys.length + 16L * depth.length;
+	for (String token : tokenIDs.keySet())
+	    bytes += 80 + 2 * token.length();
+	return bytes;
+    }
+}
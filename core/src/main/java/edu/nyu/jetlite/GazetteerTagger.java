@@ -0,0 +1,97 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Marks the names of a gazetteer (property GazetteerTagger.fileName) in
+ *  each sentence.  Each name is an Enamex annotation of type "gazetteer",
+ *  with the type of the name as its nameType.  Where names overlap, the
+ *  one which starts first (and then the longest) is kept;  a name of
+ *  several types gets one annotation per type.
+ */
+
+public class GazetteerTagger extends Annotator {
+
+    String fileName;
+
+    // loaded by the constructor, so that the threads using the tagger
+    // all see it;  null if no gazetteer is specified
+    final Gazetteer gazetteer;
+
+    public GazetteerTagger (Properties config) throws IOException {
+	fileName = config.getProperty("GazetteerTagger.fileName");
+	gazetteer = (fileName == null) ? null : Gazetteer.load(fileName);
+    }
+
+    public String[] requires () {
+	return new String[] {"token", "sentence"};
+    }
+
+    public String[] produces () {
+	return new String[] {"gazetteer"};
+    }
+
+    public Document annotate (Document doc, Span span) {
+	if (gazetteer == null)
+	    throw new IllegalStateException("No gazetteer specified for GazetteerTagger");
+	Vector<Annotation> sentences = doc.annotationsOfType("sentence", span);
+	if (sentences != null)
+	    for (Annotation sentence : sentences)
+		tagSentence(doc, sentence);
+	return doc;
+    }
+
+    void tagSentence (Document doc, Annotation sentence) {
+	int posn = sentence.start();
+	List<Annotation> tokens = new ArrayList<Annotation>();
+	Annotation token;
+	while ((token = doc.tokenAt(posn)) != null) {
+	    tokens.add(token);
+	    posn = token.end();
+	    if (posn >= sentence.end()) break;
+	}
+	int nTokens = tokens.size();
+	String[] words = new String[nTokens];
+	for (int i = 0; i < nTokens; i++)
+	    words[i] = doc.text(tokens.get(i)).trim();
+	// the longest name starting at each token, and its types
+	final int[] end = new int[nTokens];
+	final int[] types = new int[nTokens];
+	gazetteer.match(words, new Gazetteer.MatchHandler() {
+	    public void name (int s, int e, int t) {
+		if (e > end[s]) {
+		    end[s] = e;
+		    types[s] = t;
+		} else if (e == end[s]) {
+		    types[s] |= t;
+		}
+	    }
+	});
+	int i = 0;
+	while (i < nTokens) {
+	    if (end[i] == 0) {
+		i++;
+		continue;
+	    }
+	    Span s = new Span(tokens.get(i).start(), tokens.get(end[i] - 1).end());
+	    for (int t = 0, mask = types[i]; mask != 0; t++, mask >>>= 1) {
+		if ((mask & 1) == 0)
+		    continue;
+		Enamex name = new Enamex(s);
+		name.type = "gazetteer";
+		name.setNameType(gazetteer.typeName(t));
+		doc.addAnnotation(name);
+	    }
+	    i = end[i];
+	}
+    }
+}
@@ -0,0 +1,82 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *  A fixed-size, thread-safe histogram of non-negative long values, with
+ *  16 buckets per power of two (a relative error of at most 1/16), used to
+ *  report percentiles of per-document measurements.
+ */
+
+public class Histogram {
+
+    private static final int SUB_BUCKETS = 16;
+
+    private final AtomicLongArray counts = new AtomicLongArray(60 * SUB_BUCKETS);
+
+    /**
+     *  Adds value 'v' to the histogram (negative values are counted as 0).
+     */
+
+    public void record (long v) {
+	counts.incrementAndGet(bucket(Math.max(v, 0)));
+    }
+
+    /**
+     *  Returns the number of values recorded.
+     */
+
+    public long count () {
+	long n = 0;
+	for (int i = 0; i < counts.length(); i++)
+	    n += counts.get(i);
+	return n;
+    }
+
+    /**
+     *  Returns (approximately) the value below which fraction 'p' (between
+     *  0 and 1) of the recorded values lie, or 0 if no values were recorded.
+     */
+
+    public long percentile (double p) {
+	long total = count();
+	if (total == 0)
+	    return 0;
+	long rank = (long) Math.ceil(p * total);
+	if (rank < 1) rank = 1;
+	long seen = 0;
+	for (int i = 0; i < counts.length(); i++) {
+	    seen += counts.get(i);
+	    if (seen >= rank)
+		return value(i);
+	}
+	return value(counts.length() - 1);
+    }
+
+    private static int bucket (long v) {
+	if (v < SUB_BUCKETS)
+	    return (int) v;
+	int e = 63 - Long.numberOfLeadingZeros(v);
+	int sub = (int) (v >> (e - 4)) & (SUB_BUCKETS - 1);
+	return (e - 3) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     *  returns the midpoint of the values falling in bucket i.
+     */
+
+    private static long value (int i) {
+	if (i < SUB_BUCKETS)
+	    return i;
+	int e = i / SUB_BUCKETS + 3;
+	long low = (long) (SUB_BUCKETS + i % SUB_BUCKETS) << (e - 4);
+	return low + (1L << (e - 4)) / 2;
+    }
+}
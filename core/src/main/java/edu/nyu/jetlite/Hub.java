@@ -0,0 +1,437 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import java.util.*;
+import java.io.*;
+import java.util.concurrent.*;
+import edu.nyu.jetlite.tipster.*;
+
+public class Hub {
+
+    static Properties config = new Properties();
+
+    // where relations and events are recorded;  set by main
+    static ResultSink sink = new NullSink();
+
+    // runs independent annotators concurrently;  null to run them one at a time
+    static ExecutorService stageExecutor = null;
+
+    // if not null, the results of each stage are kept here;  set by main
+    static StageCache stageCache = null;
+
+    // if not null, the tags of the regions (zones) of a document which are
+    // annotated separately;  set by main
+    static String[] zones = null;
+
+    // the names of the annotators, in pipeline order, and the prefixes of
+    // their properties
+    static final List<String> ANNOTATORS = Arrays.asList("token", "sentence", "pos", "name",
+	"gazetteer", "parse", "coref", "entity", "relation", "event");
+    static final List<String> PREFIXES = Arrays.asList("Tokenizer", "Splitter", "POStagger", "NEtagger",
+	"GazetteerTagger", "DepParser", "Coref", "EntityTagger", "RelationTagger", "EventTagger");
+
+    /**
+     *  Processes each of the document files named on the command line, writing
+     *  each annotated document to standard output, in the format given by
+     *  property Hub.format or by the arguments "-format f" before the file
+     *  names:  text (the default), jsonl, conllu or standoff (see
+     *  DocumentWriter).  If property Hub.stats is
+     *  set, a summary of the per-stage statistics is written at the end.
+     *  If property Hub.threads is greater than 1, annotators which do not
+     *  depend on each other are run concurrently, using that many threads.
+     *  <p>
+     *  If property Hub.zones is set (to a list of SGML tags, such as
+     *  "HEADLINE TEXT"), the regions of each document marked by those tags
+     *  are annotated separately, and with Hub.threads greater than 1, in
+     *  parallel (see processDocument).
+     *  <p>
+     *  If property Hub.checkpointDir is set, each annotated document is also
+     *  saved in binary form (see BinaryDocument) in that directory, as
+     *  name.jld.  A .jld file named on the command line is read back, and
+     *  only the annotators not yet applied to it are run.
+     *  <p>
+     *  If property StageCache.dir is set, each document is kept in that
+     *  directory as it stands after parse, after coref and after the last
+     *  stage before relation and event, and reused on later runs as long as
+     *  the document, the stages and their properties and models are
+     *  unchanged (see StageCache).
+     *  <p>
+     *  Given the single argument -server, instead runs as a server (see
+     *  HubServer), annotating the documents sent to it.
+     */
+
+    public static void main (String[] args) throws IOException {
+
+	loadConfig(config, "props");
+	if (args.length == 1 && args[0].equals("-server")) {
+	    new HubServer(config).start();
+	    return;
+	}
+
+	// check the format before starting anything which must be shut down
+	String format = config.getProperty("Hub.format", "text");
+	int firstArg = 0;
+	if (args.length >= 2 && args[0].equals("-format")) {
+	    format = args[1];
+	    firstArg = 2;
+	}
+	DocumentWriter writer = DocumentWriter.create(format, System.out);
+	if (writer == null)
+	    System.exit(1);
+	String annotatorProp = config.getProperty("annotators");
+	if (annotatorProp == null) {
+	    System.out.println("annotators not specified");
+	    return;
+	}
+	String[] names = annotatorProp.split(" ");
+	sink = ResultSink.create(config);
+	if (sink == null)
+	    System.exit(1);
+	EntityStore store = null;
+	// if a document failed, the executor's threads would keep the JVM
+	// running, and the records and entities found so far would be lost
+	try {
+	    Map<String, Annotator> annotators = createAnnotators(config);
+	    int threads = Integer.parseInt(config.getProperty("Hub.threads", "1"));
+	    if (threads > 1)
+		stageExecutor = Executors.newFixedThreadPool(threads);
+	    if (config.getProperty("Hub.zones") != null)
+		zones = config.getProperty("Hub.zones").trim().split("\\s+");
+	    if (config.getProperty("StageCache.dir") != null)
+		stageCache = new StageCache(config.getProperty("StageCache.dir"), config);
+	    if (config.getProperty("EntityStore.fileName") != null)
+		store = new EntityStore(config);
+	    String checkpointDir = config.getProperty("Hub.checkpointDir");
+	    for (String documentFileName : Arrays.asList(args).subList(firstArg, args.length)) {
+		File documentFile = new File(documentFileName);
+		Set<String> done = new LinkedHashSet<String>();
+		Document doc;
+		if (documentFileName.endsWith(".jld"))
+		    doc = BinaryDocument.load(documentFile, done);
+		else
+		    doc = new Document(documentFile);
+		    // "A title\n<TEXT>\nJohn, a noted lawyer, died. He was one of the best lawyers in New York.  </TEXT>");
+		sink.startDocument(doc, documentFileName);
+		doc = processDocument (doc, annotators, names, done);
+		writer.write(doc, documentFileName);
+		writer.flush();
+		sink.endDocument(doc);
+		if (checkpointDir != null) {
+		    String name = documentFile.getName().replaceFirst("\\.jld$", "");
+		    BinaryDocument.save(doc, done, new File(checkpointDir, name + ".jld"));
+		}
+		if (store != null)
+		    store.addDocument(doc, documentFileName);
+	    }
+	} finally {
+	    if (stageExecutor != null)
+		stageExecutor.shutdown();
+	    sink.close();
+	    if (store != null)
+		store.close();
+	}
+	if (config.getProperty("Hub.stats") != null) {
+	    PipelineStats.report(System.out);
+	    if (stageCache != null)
+		stageCache.report(System.out);
+	}
+    }
+
+    /**
+     *  Loads properties from file 'fileName' or, if there is no such file,
+     *  from the class path resource of that name (as in the runnable jar).
+     */
+
+    public static void loadConfig (Properties config, String fileName) throws IOException {
+	if (new File(fileName).exists()) {
+	    Reader reader = new FileReader(fileName);
+	    config.load(reader);
+	    reader.close();
+	    return;
+	}
+	InputStream in = Hub.class.getClassLoader().getResourceAsStream(fileName);
+	if (in == null)
+	    throw new FileNotFoundException(fileName);
+	config.load(in);
+	in.close();
+    }
+
+    /**
+     *  Annotates 'doc' with the annotators listed in property 'annotators',
+     *  and the annotators they depend on.  The annotators are created afresh
+     *  for each call;  to process many documents, create them once with
+     *  createAnnotators.
+     */
+
+    public static Document processDocument (Document doc, Properties config) throws IOException {
+	String annotatorProp = config.getProperty("annotators");
+	if (annotatorProp == null) {
+	    System.out.println("annotators not specified");
+	    return doc;
+	}
+	return processDocument(doc, createAnnotators(config), annotatorProp.split(" "));
+    }
+
+    /**
+     *  Returns the annotators JetLite provides, configured from 'config' and
+     *  keyed by the names used in property 'annotators', in pipeline order.
+     *  Models are loaded when an annotator is first used.
+     */
+
+    public static Map<String, Annotator> createAnnotators (Properties config) throws IOException {
+	Map<String, Annotator> annotators = new LinkedHashMap<String, Annotator>();
+	annotators.put("token", new Tokenizer(props(config, "Tokenizer")));
+	annotators.put("sentence", new SentenceSplitter(props(config, "Splitter")));
+	annotators.put("pos", new POStagger(props(config, "POStagger")));
+	annotators.put("name", new NEtagger(props(config, "NEtagger")));
+	annotators.put("gazetteer", new GazetteerTagger(props(config, "GazetteerTagger")));
+	annotators.put("parse", new DepParser(props(config, "DepParser")));
+	annotators.put("coref", new Coref(props(config, "Coref")));
+	annotators.put("entity", new EntityTagger(props(config, "EntityTagger")));
+	RelationTagger rtagger = new RelationTagger(props(config, "RelationTagger"));
+	EventTagger vtagger = new EventTagger(props(config, "EventTagger"));
+	rtagger.setSink(sink);
+	vtagger.setSink(sink);
+	annotators.put("relation", rtagger);
+	annotators.put("event", vtagger);
+	return annotators;
+    }
+
+    /**
+     *  Annotates the TEXT region of 'doc' (or all of 'doc', if it has none)
+     *  with the annotators 'names', taken from 'annotators', together with
+     *  the annotators producing what they require (see plan).  If there is
+     *  a stageExecutor, each annotator is run on it as soon as those it
+     *  depends on have finished, so independent annotators run concurrently.
+     *  <p>
+     *  If there are zones, each zone of 'doc' (see zoneSpans) is annotated
+     *  in turn instead of the TEXT region;  with a stageExecutor, the zones
+     *  are annotated in parallel, each annotator working on one zone at a
+     *  time.  Entities are then found separately in each zone.
+     */
+
+    public static Document processDocument (Document doc, Map<String, Annotator> annotators,
+	                                    String[] names) {
+	return processDocument(doc, annotators, names, new HashSet<String>());
+    }
+
+    /**
+     *  Annotates 'doc' as above, except that the annotators in 'done', which
+     *  have already been applied to 'doc', are not run again.  The annotators
+     *  run are added to 'done'.  If there is a stageCache (and nothing has
+     *  been done yet), stages are restored from it where possible, and the
+     *  annotators are run one at a time, the result of parse, coref and
+     *  the last cacheable stage being saved in the cache.
+     */
+
+    public static Document processDocument (final Document doc, final Map<String, Annotator> annotators,
+	                                    String[] names, Set<String> done) {
+	List<Span> spans = zoneSpans(doc);
+	List<String> order = plan(annotators, names);
+	order.removeAll(done);
+	// with a stageExecutor, the stages add their measurements to 'total'
+	// from their own threads, and the wall time is that of all of them
+	final PipelineStats.Sample total = PipelineStats.start();
+	try {
+	    if (stageCache != null && done.isEmpty()) {
+		List<String> keys = stageCache.keys(doc, order);
+		int restored = stageCache.restore(doc, order, keys, done);
+		for (int i = restored; i < order.size(); i++) {
+		    for (Span span : spans)
+			runStage(doc, span, annotators, order.get(i), null);
+		    done.add(order.get(i));
+		    if (keys != null && stageCache.saved(order, keys, i))
+			stageCache.save(doc, keys.get(i), done);
+		}
+	    } else if (stageExecutor == null) {
+		for (String stage : order)
+		    for (Span span : spans)
+			runStage(doc, span, annotators, stage, null);
+	    } else {
+		// each stage of a zone waits for the same stage of the zone before,
+		// so annotations are still added in document order
+		List<CompletableFuture<Void>> all = new ArrayList<CompletableFuture<Void>>();
+		Map<String, CompletableFuture<Void>> previous = new HashMap<String, CompletableFuture<Void>>();
+		for (final Span span : spans) {
+		    Map<String, CompletableFuture<Void>> finished = new HashMap<String, CompletableFuture<Void>>();
+		    for (final String stage : order) {
+			List<CompletableFuture<Void>> before = new ArrayList<CompletableFuture<Void>>();
+			for (String prerequisite : prerequisites(annotators, stage))
+			    if (finished.containsKey(prerequisite))
+				before.add(finished.get(prerequisite));
+			if (previous.containsKey(stage))
+			    before.add(previous.get(stage));
+			Runnable run = new Runnable() {
+			    public void run () {
+				runStage(doc, span, annotators, stage, total);
+			    }
+			};
+			CompletableFuture<Void> f = CompletableFuture.allOf(before.toArray(new CompletableFuture<?>[0]))
+			    .thenRunAsync(run, stageExecutor);
+			finished.put(stage, f);
+			all.add(f);
+		    }
+		    previous = finished;
+		}
+		try {
+		    CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0])).join();
+		} catch (CompletionException e) {
+		    if (e.getCause() instanceof RuntimeException)
+			throw (RuntimeException) e.getCause();
+		    throw e;
+		}
+	    }
+	} finally {
+	    PipelineStats.stop("document", total);
+	}
+	done.addAll(order);
+	return doc;
+    }
+
+    /**
+     *  Applies annotator 'stage' to 'span' of 'doc'.  If the stage runs on a
+     *  thread other than that processing the document, 'total' is the
+     *  document's sample, to which the measurements of the stage are added.
+     */
+
+    private static void runStage (Document doc, Span span, Map<String, Annotator> annotators,
+	                          String stage, PipelineStats.Sample total) {
+	PipelineStats.Sample sample = PipelineStats.start();
+	try {
+	    annotators.get(stage).annotate(doc, span);
+	} finally {
+	    if (total == null)
+		PipelineStats.stop(stage, sample);
+	    else
+		PipelineStats.stop(stage, sample, total);
+	}
+    }
+
+    /**
+     *  Returns the regions of 'doc' to be annotated:  if there are zones,
+     *  the outermost regions marked by their tags, in document order, and
+     *  otherwise (or if none are marked) the TEXT region.  Zones not yet
+     *  marked on 'doc' are marked in one pass over the text.
+     */
+
+    static List<Span> zoneSpans (Document doc) {
+	List<Span> spans = new ArrayList<Span>();
+	if (zones != null) {
+	    List<String> missing = new ArrayList<String>();
+	    for (String zone : zones)
+		if (doc.annotationsOfType(zone) == null)
+		    missing.add(zone);
+	    if (!missing.isEmpty())
+		doc.annotateWithTags(missing.toArray(new String[missing.size()]), 0, doc.length());
+	    List<Annotation> regions = new ArrayList<Annotation>();
+	    for (String zone : zones) {
+		Vector<Annotation> v = doc.annotationsOfType(zone);
+		if (v != null)
+		    regions.addAll(v);
+	    }
+	    // by start, and of regions starting together, the longest first
+	    Collections.sort(regions, new Comparator<Annotation>() {
+		public int compare (Annotation a, Annotation b) {
+		    if (a.start() != b.start())
+			return Integer.compare(a.start(), b.start());
+		    return Integer.compare(b.end(), a.end());
+		}
+	    });
+	    int end = -1;
+	    for (Annotation region : regions) {
+		if (region.start() >= end) {
+		    spans.add(region.span());
+		    end = region.end();
+		}
+	    }
+	}
+	if (spans.isEmpty())
+	    spans.add(getTEXTspan(doc));
+	return spans;
+    }
+
+    /**
+     *  Returns the annotators which must be run to apply annotators 'names':
+     *  those annotators, the annotators producing what they require, and so
+     *  on, ordered so that each annotator follows those it depends on.
+     */
+
+    public static List<String> plan (Map<String, Annotator> annotators, String[] names) {
+	List<String> order = new ArrayList<String>();
+	for (String name : names)
+	    plan(annotators, name, order, new HashSet<String>());
+	return order;
+    }
+
+    private static void plan (Map<String, Annotator> annotators, String name, List<String> order,
+	                      Set<String> pending) {
+	if (order.contains(name))
+	    return;
+	if (!annotators.containsKey(name)) {
+	    System.out.println("Unknown annotator " + name);
+	    return;
+	}
+	if (!pending.add(name)) {
+	    System.out.println("Annotator " + name + " depends on itself");
+	    return;
+	}
+	for (String prerequisite : prerequisites(annotators, name))
+	    plan(annotators, prerequisite, order, pending);
+	order.add(name);
+    }
+
+    /**
+     *  Returns the annotators producing what annotator 'name' requires;  if
+     *  several produce the same thing, the first in 'annotators' is used.
+     */
+
+    static List<String> prerequisites (Map<String, Annotator> annotators, String name) {
+	List<String> result = new ArrayList<String>();
+	for (String required : annotators.get(name).requires()) {
+	    String producer = null;
+	    for (Map.Entry<String, Annotator> a : annotators.entrySet()) {
+		if (Arrays.asList(a.getValue().produces()).contains(required)) {
+		    producer = a.getKey();
+		    break;
+		}
+	    }
+	    if (producer == null)
+		System.out.println("No annotator produces " + required + " for " + name);
+	    else if (!result.contains(producer))
+		result.add(producer);
+	}
+	return result;
+    }
+
+    /**
+     *  Given a Properties table, returns a (eneraly) smaller table
+     *  containing only those entries starting with 'prefix'.
+     */
+
+    static Properties props (Properties config, String prefix) {
+	Properties result = new Properties();
+	for (String p : config.stringPropertyNames()) {
+	    if (p.startsWith(prefix + "."))
+		result.setProperty(p, config.getProperty(p));
+	}
+	return result;
+    }
+
+    public static Span getTEXTspan (Document doc) {
+	Vector<Annotation> text = doc.annotationsOfType("TEXT");
+	if (text == null) {
+	    doc.annotateWithTag("TEXT");
+	    text = doc.annotationsOfType("TEXT");
+	}
+	if (text != null)
+	    return text.get(0).span();
+	else
+	    return doc.fullSpan();
+    }
+}
@@ -0,0 +1,349 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import com.sun.net.httpserver.*;
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ *  A long-running JetLite server, so that JVM startup and model loading are
+ *  paid once rather than for every document.  It accepts HTTP requests from
+ *  the local machine:
+ *  <pre>
+ *    POST /annotate?annotators=token+sentence+pos&format=jsonl    (body: the document)
+ *    GET  /stats
+ *  </pre>
+ *  /annotate returns the annotated document, in the form Hub writes to
+ *  standard output, in the format given by the 'format' parameter (see
+ *  DocumentWriter), by default "text";  if no annotators are given, those
+ *  of property 'annotators' are used.  The annotators these depend on are run too,
+ *  always in pipeline order.  /stats returns the per-stage statistics (see PipelineStats).
+ *  <p>
+ *  Requests are queued and taken by HubServer.threads workers, each with its
+ *  own set of annotators, whose models are loaded before the server starts
+ *  listening.  A worker takes up to HubServer.batchSize waiting documents at
+ *  a time and runs them through the pipeline one stage at a time, so that
+ *  each model is applied to the whole batch while it is in the cache.  At
+ *  most HubServer.queueSize requests wait and threads * batchSize are
+ *  processed at a time;  further requests are refused at once with status
+ *  503 (Service Unavailable) rather than piling up.  A request still
+ *  unanswered after HubServer.timeout seconds is refused the same way, and
+ *  a document longer than HubServer.maxBytes is refused with status 413.
+ */
+
+public class HubServer {
+
+    Properties config;
+
+    int port;
+    int threads;
+    int queueSize;
+    int batchSize;
+    int timeout;
+    int maxBytes;
+
+    // a permit for each request which may be queued or processed
+    Semaphore inFlight;
+
+    // the annotators used when a request does not name any
+    Set<String> defaultAnnotators = new HashSet<String>();
+
+    BlockingQueue<Job> queue;
+
+    /**
+     *  A document waiting to be annotated, with the annotators to apply.
+     */
+
+    static class Job {
+	Document doc;
+	Set<String> annotators;
+	CompletableFuture<Document> result = new CompletableFuture<Document>();
+
+	Job (Document doc, Set<String> annotators) {
+	    this.doc = doc;
+	    this.annotators = annotators;
+	}
+    }
+
+    /**
+     *  Creates a server configured by 'config':  HubServer.port (default
+     *  8765), HubServer.threads (default, the number of processors),
+     *  HubServer.queueSize (default 64), HubServer.batchSize (default 8),
+     *  HubServer.timeout (default 300) and HubServer.maxBytes (default
+     *  16000000).
+     */
+
+    public HubServer (Properties config) {
+	this.config = config;
+	port = Integer.parseInt(config.getProperty("HubServer.port", "8765"));
+	threads = Integer.parseInt(config.getProperty("HubServer.threads",
+		Integer.toString(Runtime.getRuntime().availableProcessors())));
+	queueSize = Integer.parseInt(config.getProperty("HubServer.queueSize", "64"));
+	batchSize = Integer.parseInt(config.getProperty("HubServer.batchSize", "8"));
+	timeout = Integer.parseInt(config.getProperty("HubServer.timeout", "300"));
+	maxBytes = Integer.parseInt(config.getProperty("HubServer.maxBytes", "16000000"));
+	inFlight = new Semaphore(queueSize + threads * batchSize);
+	String annotatorProp = config.getProperty("annotators");
+	if (annotatorProp != null)
+	    defaultAnnotators.addAll(Arrays.asList(annotatorProp.split(" ")));
+    }
+
+    /**
+     *  Loads the models, starts the workers and begins accepting requests.
+     */
+
+    public void start () throws IOException {
+	queue = new ArrayBlockingQueue<Job>(queueSize);
+	for (int i = 0; i < threads; i++) {
+	    Map<String, Annotator> annotators = Hub.createAnnotators(config);
+	    // annotating a small document loads the models
+	    Job warmUp = new Job(new Document("<TEXT>\nJohn Smith flew to Boston.\n</TEXT>"),
+				 defaultAnnotators);
+	    process(annotators, Collections.singletonList(warmUp));
+	    Thread worker = new Thread(new Worker(annotators), "HubServer-" + i);
+	    worker.start();
+	}
+	HttpServer server =
+	    HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+	server.createContext("/annotate", new AnnotateHandler());
+	server.createContext("/stats", new StatsHandler());
+	// a handler thread waits while its document is processed;  there is
+	// one for each permit, and some more to refuse requests and report
+	// statistics at once when all the permits are taken
+	server.setExecutor(Executors.newFixedThreadPool(queueSize + threads * batchSize + threads));
+	server.start();
+	System.out.println("JetLite server listening on port " + port);
+    }
+
+    /**
+     *  Takes batches of jobs from the queue and processes them.
+     */
+
+    class Worker implements Runnable {
+
+	Map<String, Annotator> annotators;
+
+	Worker (Map<String, Annotator> annotators) {
+	    this.annotators = annotators;
+	}
+
+	public void run () {
+	    List<Job> batch = new ArrayList<Job>();
+	    while (true) {
+		try {
+		    batch.add(queue.take());
+		} catch (InterruptedException e) {
+		    return;
+		}
+		queue.drainTo(batch, batchSize - 1);
+		try {
+		    process(annotators, batch);
+		} catch (Throwable e) {
+		    for (Job job : batch)
+			job.result.completeExceptionally(e);
+		} finally {
+		    // no job may be left waiting
+		    for (Job job : batch)
+			job.result.completeExceptionally(new IllegalStateException("job not completed"));
+		    batch.clear();
+		}
+	    }
+	}
+    }
+
+    /**
+     *  Runs the documents of 'batch' through 'annotators' stage by stage,
+     *  applying each stage to the documents which requested it or need it
+     *  for a stage they requested (see Hub.plan), and then
+     *  completes each job.  A job whose annotator fails is completed with
+     *  the exception and takes no part in later stages.
+     */
+
+    static void process (Map<String, Annotator> annotators, List<Job> batch) {
+	List<Span> spans = new ArrayList<Span>(batch.size());
+	List<Set<String>> stages = new ArrayList<Set<String>>(batch.size());
+	for (Job job : batch) {
+	    spans.add(Hub.getTEXTspan(job.doc));
+	    String[] names = job.annotators.toArray(new String[0]);
+	    stages.add(new HashSet<String>(Hub.plan(annotators, names)));
+	}
+	for (Map.Entry<String, Annotator> stage : annotators.entrySet()) {
+	    for (int i = 0; i < batch.size(); i++) {
+		Job job = batch.get(i);
+		if (job.result.isDone() || !stages.get(i).contains(stage.getKey()))
+		    continue;
+		try {
+		    PipelineStats.Sample sample = PipelineStats.start();
+		    try {
+			job.doc = stage.getValue().annotate(job.doc, spans.get(i));
+		    } finally {
+			PipelineStats.stop(stage.getKey(), sample);
+		    }
+		} catch (Throwable e) {
+		    // including Errors, such as a StackOverflowError from one
+		    // document, which should not fail the rest of the batch
+		    job.result.completeExceptionally(e);
+		}
+	    }
+	}
+	for (Job job : batch)
+	    job.result.complete(job.doc);
+    }
+
+    class AnnotateHandler implements HttpHandler {
+
+	public void handle (HttpExchange exchange) throws IOException {
+	    try {
+		if (!exchange.getRequestMethod().equals("POST")) {
+		    respond(exchange, 405, "use POST\n");
+		    return;
+		}
+		Set<String> annotators = requestedAnnotators(exchange.getRequestURI());
+		if (annotators == null) {
+		    respond(exchange, 400, "unknown annotator\n");
+		    return;
+		}
+		String format = parameter(exchange.getRequestURI(), "format");
+		if (format == null)
+		    format = "text";
+		if (!DocumentWriter.FORMATS.contains(format)) {
+		    respond(exchange, 400, "unknown format\n");
+		    return;
+		}
+		if (!inFlight.tryAcquire()) {
+		    exchange.getResponseHeaders().set("Retry-After", "1");
+		    respond(exchange, 503, "server busy\n");
+		    return;
+		}
+		try {
+		    annotate(exchange, annotators, format);
+		} finally {
+		    inFlight.release();
+		}
+	    } finally {
+		exchange.close();
+	    }
+	}
+
+	/**
+	 *  Reads the document, queues it and writes the annotated document
+	 *  as the response.
+	 */
+
+	void annotate (HttpExchange exchange, Set<String> annotators, String format) throws IOException {
+	    String body = readBody(exchange, maxBytes);
+	    if (body == null) {
+		respond(exchange, 413, "document too large\n");
+		return;
+	    }
+	    Job job = new Job(new Document(body), annotators);
+	    if (!queue.offer(job)) {
+		exchange.getResponseHeaders().set("Retry-After", "1");
+		respond(exchange, 503, "server busy\n");
+		return;
+	    }
+	    try {
+		Document doc = job.result.get(timeout, TimeUnit.SECONDS);
+		// stream the response, rather than building it as one String
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+		exchange.sendResponseHeaders(200, 0);
+		DocumentWriter writer = DocumentWriter.create(format, exchange.getResponseBody());
+		writer.write(doc, null);
+		writer.flush();
+	    } catch (ExecutionException e) {
+		respond(exchange, 500, e.getCause() + "\n");
+	    } catch (TimeoutException e) {
+		// so that a worker which has not reached it skips it
+		job.result.cancel(false);
+		respond(exchange, 503, "timed out\n");
+	    } catch (InterruptedException e) {
+		respond(exchange, 500, e + "\n");
+	    }
+	}
+    }
+
+    class StatsHandler implements HttpHandler {
+
+	public void handle (HttpExchange exchange) throws IOException {
+	    try {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(bytes, false, "UTF-8");
+		PipelineStats.report(out);
+		out.flush();
+		respond(exchange, 200, bytes.toString("UTF-8"));
+	    } finally {
+		exchange.close();
+	    }
+	}
+    }
+
+    /**
+     *  Returns the annotators named by the 'annotators' parameter of 'uri'
+     *  (separated by spaces or commas), the default annotators if there is
+     *  no such parameter, or null if it names an unknown annotator.
+     */
+
+    Set<String> requestedAnnotators (URI uri) throws IOException {
+	String value = parameter(uri, "annotators");
+	if (value == null)
+	    return defaultAnnotators;
+	Set<String> annotators = new HashSet<String>();
+	for (String name : value.trim().split("[ ,]+")) {
+	    if (!Hub.ANNOTATORS.contains(name))
+		return null;
+	    annotators.add(name);
+	}
+	return annotators;
+    }
+
+    /**
+     *  Returns the (decoded) value of parameter 'name' of 'uri', or null if
+     *  there is no such parameter.
+     */
+
+    static String parameter (URI uri, String name) throws IOException {
+	String query = uri.getRawQuery();
+	if (query == null)
+	    return null;
+	for (String param : query.split("&")) {
+	    if (param.startsWith(name + "="))
+		return URLDecoder.decode(param.substring(name.length() + 1), "UTF-8");
+	}
+	return null;
+    }
+
+    /**
+     *  Returns the body of the request, or null if it is longer than
+     *  'maxBytes'.
+     */
+
+    static String readBody (HttpExchange exchange, int maxBytes) throws IOException {
+	InputStream in = exchange.getRequestBody();
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	byte[] buf = new byte[8192];
+	for (int n; (n = in.read(buf)) > 0; ) {
+	    if (bytes.size() + n > maxBytes)
+		return null;
+	    bytes.write(buf, 0, n);
+	}
+	return bytes.toString("UTF-8");
+    }
+
+    static void respond (HttpExchange exchange, int status, String body) throws IOException {
+	byte[] bytes = body.getBytes("UTF-8");
+	exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+	exchange.sendResponseHeaders(status, bytes.length);
+	OutputStream out = exchange.getResponseBody();
+	out.write(bytes);
+	out.close();
+    }
+}
@@ -0,0 +1,83 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Writes each document as one JSON object on a line of its own:
+ *  <pre>
+ *    {"doc":id,"text":"...","annotations":[
+ *      {"id":"#1","type":"token","start":0,"end":5,"pos":"NNP"}, ...]}
+ *  </pre>
+ *  Each annotation has its ID, type, span and features;  a feature whose
+ *  value is an annotation is given by its ID, and a list as an array.
+ */
+
+public class JsonDocumentWriter extends DocumentWriter {
+
+    public JsonDocumentWriter (OutputStream stream) {
+	super(stream);
+    }
+
+    public void write (Document doc, String id) throws IOException {
+	out.write("{\"doc\":");
+	quote(id);
+	out.write(",\"text\":");
+	quote(doc, 0, doc.length());
+	out.write(",\"annotations\":[");
+	boolean first = true;
+	for (String type : doc.getAnnotationTypes()) {
+	    for (Annotation a : doc.annotationList(type)) {
+		if (!first)
+		    out.write(',');
+		first = false;
+		out.write("{\"id\":");
+		quote(a.getID());
+		out.write(",\"type\":");
+		quote(a.type());
+		out.write(",\"start\":");
+		out.write(Integer.toString(a.start()));
+		out.write(",\"end\":");
+		out.write(Integer.toString(a.end()));
+		writeFeatures(a);
+		out.write('}');
+	    }
+	}
+	out.write("]}\n");
+    }
+
+    protected void feature (String name, Object value) throws IOException {
+	if (value == null)
+	    return;
+	out.write(',');
+	quote(name);
+	out.write(':');
+	if (value instanceof List) {
+	    out.write('[');
+	    List list = (List) value;
+	    for (int i = 0; i < list.size(); i++) {
+		if (i > 0)
+		    out.write(',');
+		value(list.get(i));
+	    }
+	    out.write(']');
+	} else {
+	    value(value);
+	}
+    }
+
+    private void value (Object value) throws IOException {
+	if (value instanceof Annotation)
+	    quote(((Annotation) value).getID());
+	else
+	    quote(String.valueOf(value));
+    }
+}
@@ -0,0 +1,95 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+
+/**
+ *  A ResultSink writing one JSON object per line, such as  <br>
+ *  {"doc":"d1","kind":"relation","type":"PHYS:Located","start":10,"end":32,
+ *   "text":"...","arg1":{"start":10,"end":14,"text":"John"},"arg2":{...}}  <br>
+ *  {"doc":"d1","kind":"event","type":"Die","start":40,"end":45,"text":"died"}
+ */
+
+public class JsonLinesSink extends ResultSink {
+
+    public JsonLinesSink (String fileName) {
+	super(fileName);
+    }
+
+    public void relation (Document doc, RelationMention rm, Mention arg1, Mention arg2) {
+	PrintWriter w = startRecord();
+	w.print("{\"doc\":");
+	quote(w, docId(doc));
+	w.print(",\"kind\":\"relation\",\"type\":");
+	quote(w, rm.getSemType());
+	w.print(',');
+	span(w, doc, rm);
+	w.print(",\"arg1\":{");
+	span(w, doc, arg1);
+	w.print("},\"arg2\":{");
+	span(w, doc, arg2);
+	w.print("}}\n");
+	endRecord(doc);
+    }
+
+    public void event (Document doc, EventMention em) {
+	PrintWriter w = startRecord();
+	w.print("{\"doc\":");
+	quote(w, docId(doc));
+	w.print(",\"kind\":\"event\",\"type\":");
+	quote(w, em.getSemType());
+	w.print(',');
+	span(w, doc, em);
+	w.print("}\n");
+	endRecord(doc);
+    }
+
+    /**
+     *  Writes the start, end and (normalized) text of annotation 'a' as
+     *  JSON members.
+     */
+
+    private static void span (PrintWriter w, Document doc, Annotation a) {
+	w.print("\"start\":");
+	w.print(a.start());
+	w.print(",\"end\":");
+	w.print(a.end());
+	w.print(",\"text\":");
+	quote(w, doc.normalizedText(a));
+    }
+
+    /**
+     *  Writes 's' as a JSON string.
+     */
+
+    static void quote (PrintWriter w, String s) {
+	if (s == null) {
+	    w.print("null");
+	    return;
+	}
+	w.print('"');
+	for (int i = 0; i < s.length(); i++) {
+	    char c = s.charAt(i);
+	    switch (c) {
+	    case '"':  w.print("\\\""); break;
+	    case '\\': w.print("\\\\"); break;
+	    case '\n': w.print("\\n"); break;
+	    case '\r': w.print("\\r"); break;
+	    case '\t': w.print("\\t"); break;
+	    default:
+		if (c < 0x20)
+		    w.printf("\\u%04x", (int) c);
+		else
+		    w.print(c);
+	    }
+	}
+	w.print('"');
+    }
+}
@@ -72,12 +72,16 @@ public class MalletMaxEntModel extends MaxEntModel {
     }
 
     public String getBestOutcome (String[] context) {
+	PipelineStats.count(PipelineStats.MODEL_CALLS, 1);
 	String s = "";
 	for (String c : context) s += " " + c;
 	s = s.trim();
 	Instance in = new Instance(s, null, null, null);
-	if (pipe == null) pipe = buildPipe();
-	in = pipe.instanceFrom(in);
+	// the pipe's alphabets are not thread-safe
+	synchronized (this) {
+	    if (pipe == null) pipe = buildPipe();
+	    in = pipe.instanceFrom(in);
+	}
 	Classification klass = me.classify(in);
 	Labeling labeling = klass.getLabeling();
 	return labeling.getLabelAtRank(0).toString(); //  + ":" + labeling.getValueAtRank(0);
@@ -89,12 +93,13 @@ public class MalletMaxEntModel extends MaxEntModel {
 		System.out.println ("No model specified for " + task);
 		System.exit(1);
 	    }
-	    if (!new File(modelFileName).exists()) {
+	    File modelFile = MaxEntModel.modelFile(modelFileName);
+	    if (modelFile == null) {
 		System.out.println ("Model file " + modelFileName + " for " + task + " does not exist.");
 		System.exit(1);
 	    }
 	    ObjectInputStream ois =
-		            new ObjectInputStream (new FileInputStream (modelFileName));
+		            new ObjectInputStream (new FileInputStream (modelFile));
 	    me = (cc.mallet.classify.MaxEnt) ois.readObject();
 	    ois.close();
 	    loaded = true;
@@ -58,11 +58,12 @@ public class MaxEnt {
 		System.out.println ("No model specified for " + task);
 		System.exit(1);
 	    }
-	    if (!new File(modelFileName).exists()) {
+	    File modelFile = MaxEntModel.modelFile(modelFileName);
+	    if (modelFile == null) {
 		System.out.println ("Model file " + modelFileName + " for " + task + " does not exist.");
 		System.exit(1);
 	    }
-	    return (GISModel) new SuffixSensitiveGISModelReader(new File(modelFileName)).getModel();
+	    return (GISModel) new SuffixSensitiveGISModelReader(modelFile).getModel();
 	} catch (Exception e) {
 	    System.out.print("Unable to load  model " + modelFileName + " due to exception: ");
 	    System.out.println(e);
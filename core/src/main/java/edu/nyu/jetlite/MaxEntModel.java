@@ -49,4 +49,35 @@ public abstract class MaxEntModel {
       *  Return true if the model is in main memory.
       */
     public abstract boolean isLoaded ();
+
+    /**
+     *  Returns the model file 'modelFileName'.  If there is no such file but
+     *  there is a class path resource of that name (as in the runnable jar),
+     *  the resource is copied to a temporary file with the same suffix and
+     *  that file is returned.  Returns null if neither exists.
+     */
+
+    public static File modelFile (String modelFileName) throws IOException {
+	File file = new File(modelFileName);
+	if (file.exists())
+	    return file;
+	InputStream in = MaxEntModel.class.getClassLoader().getResourceAsStream(modelFileName);
+	if (in == null)
+	    return null;
+	String suffix = file.getName();
+	int dot = suffix.indexOf('.');
+	suffix = (dot < 0) ? null : suffix.substring(dot);
+	File copy = File.createTempFile("jetlite", suffix);
+	copy.deleteOnExit();
+	OutputStream out = new FileOutputStream(copy);
+	try {
+	    byte[] buf = new byte[8192];
+	    for (int n; (n = in.read(buf)) > 0; )
+		out.write(buf, 0, n);
+	} finally {
+	    in.close();
+	    out.close();
+	}
+	return copy;
+    }
 }
@@ -0,0 +1,157 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+  *  A named entity tagger trained on the CoNLL English data.
+  *  <p>
+  *  If property NEtagger.gazetteer.fileName is set, the names of that
+  *  gazetteer found in each sentence are added to the features of their
+  *  tokens;  the model must then be trained with the same gazetteer.
+  */
+
+public class NEtagger extends Annotator {
+
+    String modelFileName;
+    
+    MaxEntModel model;
+
+    // the codes for the tags of the model
+    BIO bio = new BIO();
+
+    String gazetteerFileName;
+
+    // loaded by the constructor, so that the threads using the tagger
+    // all see it
+    final Gazetteer gazetteer;
+
+    public NEtagger (Properties config) throws IOException {
+	modelFileName = config.getProperty("NEtagger.model.fileName");
+	model = new MalletMaxEntModel(modelFileName, "NEtagger");
+	gazetteerFileName = config.getProperty("NEtagger.gazetteer.fileName");
+	gazetteer = (gazetteerFileName == null) ? null : Gazetteer.load(gazetteerFileName);
+    }
+
+    /**
+     *  Returns, for each of 'words', the gazetteer names it begins or
+     *  continues (see Gazetteer.match), or null if there is no gazetteer.
+     */
+
+    int[] gazetteerMatches (String[] words) {
+	if (gazetteer == null)
+	    return null;
+	return gazetteer.match(words);
+    }
+
+    public String[] requires () {
+	return new String[] {"token", "sentence"};
+    }
+
+    public String[] produces () {
+	return new String[] {"enamex"};
+    }
+
+    /**
+      *  Add annotations for names to the specified document.
+      *
+      *  @param  doc  the document to be annnotated
+      *  @param  span  the portionof thedocument to be annotated
+      */
+
+    public Document annotate (Document doc, Span span) {
+	tagDocument(doc, span);
+	return doc;
+    }
+
+    /**
+     *  The version of NEfeatures, saved with the features computed by
+     *  NEtrainer;  increase it whenever NEfeatures changes.
+     */
+
+    static final int FEATURE_VERSION = 1;
+
+    /**
+     *  Defines the features used by the NE classifier.
+     */
+
+    Datum NEfeatures (int i, String[] words, String priorTag) {
+	return NEfeatures(i, words, null, priorTag);
+    }
+
+    /**
+     *  Defines the features used by the NE classifier, including the
+     *  gazetteer names 'gazetteerNames' of each word (as returned by
+     *  gazetteerMatches;  may be null).
+     */
+
+    Datum NEfeatures (int i, String[] words, int[] gazetteerNames, String priorTag) {
+        Datum d = new Datum(model);
+	int nTokens = words.length;
+	String prior = (i > 0) ? words[i-1].toLowerCase() : "^";
+	String current = words[i].toLowerCase();
+	String next = (i >= nTokens -1) ? "$" : words[i+1].toLowerCase();
+
+	if (i > 0 && Character.isUpperCase(words[i].charAt(0))) d.addF("cap");
+	d.addFV ("prior", prior);
+	d.addFV ("current", current);
+	d.addFV ("next", next);
+	d.addFV ("bigram", prior + ":" + current);
+	d.addFV ("priorTag", priorTag);
+	if (current.length() > 2) d.addFV ("suffix", current.substring(current.length() - 2));
+	if (gazetteerNames != null)
+	    for (int mask = gazetteerNames[i], bit = 0; mask != 0; mask >>>= 1, bit++)
+		if ((mask & 1) != 0)
+		    d.addFV ("gaz", gazetteer.label(bit));
+	return d;
+	}
+
+
+    public void tagDocument (Document doc, Span span) {
+	if (!model.isLoaded())
+	    model.loadModel();
+	Vector<Annotation> sentences = doc.annotationsOfType("sentence", span);
+	if (sentences == null)
+	    return;
+	for (Annotation sentence : sentences) {
+	    tagSentence (doc, sentence);
+	}
+    }
+
+    public void tagSentence (Document doc, Annotation sentence) {
+	int posn = sentence.start();
+	 // collect tokens list
+	List<Annotation> tokens = new ArrayList<Annotation>();
+	Annotation token;
+	while ((token = doc.tokenAt(posn)) != null) {
+	    tokens.add(token);
+	    posn = token.end();
+	    if (posn >= sentence.end()) break;
+	}
+	int nTokens = tokens.size();
+	String[] words = new String[nTokens];
+	Span[] spans = new Span[nTokens];
+	for (int i=0; i < nTokens; i++) {
+	    words[i] = doc.text(tokens.get(i)).trim();
+	    spans[i] = tokens.get(i).span();
+	}
+	int[] gazetteerNames = gazetteerMatches(words);
+	int[] response = new int[nTokens];
+	String priorTag = "^";
+	for (int i=0; i < nTokens; i++) {
+	    Datum context = NEfeatures(i, words, gazetteerNames, priorTag);
+	    String prediction = model.getBestOutcome(context.toArray());
+	    response[i] = bio.code(prediction);
+	    priorTag = prediction;
+	}
+	bio.tag (doc, spans, response);
+    }
+}
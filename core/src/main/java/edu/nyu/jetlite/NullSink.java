@@ -0,0 +1,33 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+
+/**
+ *  A ResultSink which discards all records.
+ */
+
+public class NullSink extends ResultSink {
+
+    public NullSink () {
+	super(null);
+    }
+
+    public void relation (Document doc, RelationMention rm, Mention arg1, Mention arg2) {
+    }
+
+    public void event (Document doc, EventMention em) {
+    }
+
+    public void flush () {
+    }
+
+    public void close () {
+    }
+}
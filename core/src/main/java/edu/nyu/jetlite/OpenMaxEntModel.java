@@ -76,11 +76,12 @@ public class OpenMaxEntModel extends MaxEntModel {
 		System.out.println ("No model specified for " + task);
 		System.exit(1);
 	    }
-	    if (!new File(modelFileName).exists()) {
+	    File modelFile = MaxEntModel.modelFile(modelFileName);
+	    if (modelFile == null) {
 		System.out.println ("Model file " + modelFileName + " for " + task + " does not exist.");
 		System.exit(1);
 	    }
-	    model = (GISModel) new SuffixSensitiveGISModelReader(new File(modelFileName)).getModel();
+	    model = (GISModel) new SuffixSensitiveGISModelReader(modelFile).getModel();
 	    loaded = true;
 	} catch (Exception e) {
 	    System.out.print("Unable to load  model " + modelFileName + " due to exception: ");
@@ -89,6 +90,7 @@ public class OpenMaxEntModel extends MaxEntModel {
     }
 
     public String getBestOutcome (String[] features) {
+	PipelineStats.count(PipelineStats.MODEL_CALLS, 1);
 	return model.getBestOutcome(model.eval(features));
     }
 
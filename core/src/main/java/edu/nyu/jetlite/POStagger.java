@@ -0,0 +1,112 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  A part-of-speech tagger trained on the Penn Treebank in CoNLL format.  Adds
+ *  a 'pos' feature to all Token annotations.
+ */
+
+public class POStagger extends Annotator {
+
+    String modelFileName;
+    
+    MaxEntModel model;
+
+    public POStagger (Properties config) throws IOException {
+	modelFileName = config.getProperty("POStagger.model.fileName");
+	model = new OpenMaxEntModel(modelFileName, "POS tagging");
+    }
+
+    public String[] requires () {
+	return new String[] {"token", "sentence"};
+    }
+
+    public String[] produces () {
+	return new String[] {"pos"};
+    }
+
+    /**
+     * Add part-of-speech information in the form of 'pos' features to all
+     *  Token annotations of Document doc.
+     */
+
+    public Document annotate (Document doc, Span span) {
+	tagDocument(doc, span);
+	return doc;
+    }
+
+    /**
+     *  The version of POSfeatures, saved with the features computed by
+     *  POStrainer;  increase it whenever POSfeatures changes.
+     */
+
+    static final int FEATURE_VERSION = 1;
+
+    /**
+     *  Defines the features to be used by the POS classifier.
+     */
+
+    Datum POSfeatures (int i, String[] words, String priorTag) {
+        Datum d = new Datum(model);
+	int nTokens = words.length;
+	String prior = (i > 0) ? words[i-1].toLowerCase() : "^";
+	String current = words[i].toLowerCase();
+	String next = (i >= nTokens -1) ? "$" : words[i+1].toLowerCase();
+
+	// d.addFV ("pt", priorTag);
+	d.addFV ("p", prior + ":" + priorTag);
+	d.addFV ("c", current + ":" + priorTag);
+	d.addFV ("n", next + ":" + priorTag);
+	d.addFV ("w", words[i]);
+	// d.addFV ("firstchar", current.substring(0, 1));
+	if (current.length() > 2)
+	d.addFV ("lastchar", current.substring(current.length() - 2));
+	d.addFV ("cap", Character.isUpperCase(words[i].charAt(0)) ? "y" : "n");
+	return d;
+	}
+
+
+    public void tagDocument (Document doc, Span span) {
+	if (!model.isLoaded())
+	    model.loadModel();
+	Vector<Annotation> sentences = doc.annotationsOfType("sentence", span);
+	if (sentences == null)
+	    return;
+	for (Annotation sentence : sentences) {
+	    tagSentence (doc, sentence);
+	}
+    }
+
+    public void tagSentence (Document doc, Annotation sentence) {
+	int posn = sentence.start();
+	 // collect tokens list
+	List<Token> tokens = new ArrayList<Token>();
+	Token token;
+	while ((token = doc.tokenAt(posn)) != null) {
+	    tokens.add(token);
+	    posn = token.end();
+	    if (posn >= sentence.end()) break;
+	}
+	int nTokens = tokens.size();
+	String[] words = new String[nTokens];
+	for (int i=0; i < nTokens; i++)
+	    words[i] = doc.text(tokens.get(i)).trim();
+	String priorTag = "^";
+	for (int i=0; i < nTokens; i++) {
+	    Datum context = POSfeatures(i, words, priorTag);
+	    String prediction = model.getBestOutcome(context.toArray());
+	    tokens.get(i).setPos(prediction);
+	    priorTag = prediction;
+	}
+    }
+}
@@ -0,0 +1,183 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import java.io.*;
+import java.lang.management.*;
+import java.util.*;
+import javax.management.*;
+
+/**
+ *  Per-stage instrumentation of the pipeline.  Hub.processDocument wraps
+ *  each annotator (and the pipeline as a whole, as stage "document") in
+ *  start / stop, which record wall time, CPU time and bytes allocated by
+ *  the current thread.  While a stage runs, annotators may add to the item
+ *  counters through count.  When the stages of a document run on other
+ *  threads, each adds its CPU time, allocation and item counts to those of
+ *  the document (see stop(String, Sample, Sample)).  The statistics for each stage are kept in a
+ *  StageStats, registered as MBean edu.nyu.jetlite:type=StageStats,name=stage.
+ */
+
+public class PipelineStats {
+
+    public static final int TOKENS = 0;
+    public static final int SENTENCES = 1;
+    public static final int MENTIONS = 2;
+    public static final int PAIRS = 3;
+    public static final int MODEL_CALLS = 4;
+
+    static final String[] COUNTER_NAMES = {"tokens", "sentences", "mentions", "pairs", "modelCalls"};
+
+    private static final Map<String, StageStats> stages = new LinkedHashMap<String, StageStats>();
+
+    // the item counters of the stage running on the current thread
+    private static final ThreadLocal<long[]> current = new ThreadLocal<long[]>();
+
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    /**
+     *  The measurements at the start of a stage.
+     */
+
+    public static class Sample {
+	long wall;
+	long cpu;
+	long allocated;
+	long[] counts = new long[COUNTER_NAMES.length];
+	long[] outer;
+	// CPU time and allocation of parts run on other threads
+	long otherCpu;
+	long otherAllocated;
+    }
+
+    /**
+     *  Adds 'n' to counter 'counter' of the stage running on the current
+     *  thread.  Does nothing if no stage is running.
+     */
+
+    public static void count (int counter, long n) {
+	long[] c = current.get();
+	if (c != null)
+	    c[counter] += n;
+    }
+
+    /**
+     *  Begins measuring a stage on the current thread.
+     */
+
+    public static Sample start () {
+	Sample s = new Sample();
+	s.outer = current.get();
+	current.set(s.counts);
+	s.allocated = allocatedBytes();
+	s.cpu = cpuTime();
+	s.wall = System.nanoTime();
+	return s;
+    }
+
+    /**
+     *  Ends measuring a stage begun with start, and records the measurements
+     *  under 'stage'.  The stage's item counts are also added to those of
+     *  any enclosing stage.
+     */
+
+    public static void stop (String stage, Sample s) {
+	long wall = System.nanoTime() - s.wall;
+	long cpu = cpuTime() - s.cpu;
+	long allocated = allocatedBytes() - s.allocated;
+	current.set(s.outer);
+	if (s.outer != null)
+	    for (int i = 0; i < s.counts.length; i++)
+		s.outer[i] += s.counts[i];
+	synchronized (s) {
+	    cpu += s.otherCpu;
+	    allocated += s.otherAllocated;
+	    stats(stage).record(wall, cpu, allocated, s.counts);
+	}
+    }
+
+    /**
+     *  Ends measuring a stage begun with start, which is part of 'whole', a
+     *  stage measured on another thread.  Records the measurements under
+     *  'stage', and adds the CPU time, allocation and item counts to those
+     *  of 'whole'.
+     */
+
+    public static void stop (String stage, Sample s, Sample whole) {
+	long cpu = cpuTime() - s.cpu;
+	long allocated = allocatedBytes() - s.allocated;
+	synchronized (whole) {
+	    whole.otherCpu += cpu;
+	    whole.otherAllocated += allocated;
+	    for (int i = 0; i < s.counts.length; i++)
+		whole.counts[i] += s.counts[i];
+	}
+	stop(stage, s);
+    }
+
+    /**
+     *  Returns the statistics for 'stage', creating them (and registering
+     *  their MBean) if necessary.
+     */
+
+    public static StageStats stats (String stage) {
+	synchronized (stages) {
+	    StageStats st = stages.get(stage);
+	    if (st == null) {
+		st = new StageStats(stage);
+		stages.put(stage, st);
+		try {
+		    ManagementFactory.getPlatformMBeanServer().registerMBean
+			(st, new ObjectName("edu.nyu.jetlite:type=StageStats,name=" + ObjectName.quote(stage)));
+		} catch (JMException e) {
+		    System.out.println("PipelineStats:  unable to register MBean for " + stage + ": " + e);
+		}
+	    }
+	    return st;
+	}
+    }
+
+    /**
+     *  Writes a summary of the statistics of all stages:  percentiles of the
+     *  per-document times and allocation, and the item count totals.
+     */
+
+    public static void report (PrintStream out) {
+	List<StageStats> all;
+	synchronized (stages) {
+	    all = new ArrayList<StageStats>(stages.values());
+	}
+	out.printf("%-10s %7s %26s %26s %24s", "stage", "docs",
+		   "wall ms p50/p95/p99", "cpu ms p50/p95/p99", "alloc KB p50/p95/p99");
+	for (String c : COUNTER_NAMES)
+	    out.printf(" %11s", c);
+	out.println();
+	for (StageStats st : all) {
+	    out.printf("%-10s %7d %8.2f/%8.2f/%8.2f %8.2f/%8.2f/%8.2f %7d/%7d/%8d", st.name, st.getDocuments(),
+		       st.getWallMillisP50(), st.getWallMillisP95(), st.getWallMillisP99(),
+		       st.getCpuMillisP50(), st.getCpuMillisP95(), st.getCpuMillisP99(),
+		       st.getAllocatedKBP50(), st.getAllocatedKBP95(), st.getAllocatedKBP99());
+	    for (int i = 0; i < COUNTER_NAMES.length; i++)
+		out.printf(" %11d", st.totals[i].get());
+	    out.println();
+	}
+    }
+
+    private static long cpuTime () {
+	return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static long allocatedBytes () {
+	if (threads instanceof com.sun.management.ThreadMXBean) {
+	    com.sun.management.ThreadMXBean t = (com.sun.management.ThreadMXBean) threads;
+	    if (t.isThreadAllocatedMemorySupported() && t.isThreadAllocatedMemoryEnabled())
+		return t.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+	return 0;
+    }
+}
@@ -0,0 +1,191 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  A relation tagger trained on the ACE 2005 data.
+ */
+
+public class RelationTagger extends Annotator {
+
+    // the file containing the MaxEnt model
+    String modelFileName;
+
+    // the MaxEnt model
+    MaxEntModel model;
+
+    // where relations found by annotate are recorded
+    ResultSink sink = new NullSink();
+
+    /**
+     *  Create a new RelationTagger.
+     *
+     *  @param  config  A jet property file.  Property RelationTagger.model.fileName
+     *                 specifies the file to contain the model.
+     */
+
+    public RelationTagger (Properties config) throws IOException {
+	modelFileName = config.getProperty("RelationTagger.model.fileName");
+	model = new MalletMaxEntModel(modelFileName, "RelationTagger");
+    }
+
+    /**
+     *  Sets the ResultSink to which annotate writes the relations it finds.
+     */
+
+    public void setSink (ResultSink sink) {
+	this.sink = sink;
+    }
+
+    private static final int mentionWindow = 4;
+
+    /**
+     *  Returns, for each character offset in <code>offsets</code>, the index
+     *  of the sentence of Document doc containing it (counting the end of the
+     *  sentence as within the sentence), or -1 if it is not within any sentence.
+     */
+
+    static int[] sentenceIndex (Document doc, int[] offsets) {
+	return sentenceIndex(doc, null, offsets);
+    }
+
+    /**
+     *  Returns the sentence indexes as above, considering only the sentences
+     *  within 'span' (all sentences, if 'span' is null).
+     */
+
+    static int[] sentenceIndex (Document doc, Span span, int[] offsets) {
+	int[] result = new int[offsets.length];
+	Vector<Annotation> sentences = doc.annotationsOfType("sentence", span);
+	if (sentences == null) {
+	    System.out.println("no sentence annotations");
+	    Arrays.fill(result, -1);
+	    return result;
+	}
+	int n = sentences.size();
+	int[] starts = new int[n];
+	int[] ends = new int[n];
+	for (int k=0; k<n; k++) {
+	    starts[k] = sentences.get(k).start();
+	    ends[k] = sentences.get(k).end();
+	}
+	for (int i=0; i<offsets.length; i++) {
+	    int x = offsets[i];
+	    // k = last sentence starting at or before x
+	    int k = Arrays.binarySearch(starts, x);
+	    if (k < 0)
+		k = -k - 2;
+	    else
+		while (k+1 < n && starts[k+1] == x) k++;
+	    // an offset at the end of one sentence and the start of the next
+	    // belongs to the first
+	    if (k > 0 && x <= ends[k-1])
+		k--;
+	    result[i] = (k >= 0 && x <= ends[k]) ? k : -1;
+	}
+	return result;
+    }
+
+    /**
+     *  Given the sentence index of each of a list of mentions in document order,
+     *  returns the pairs {i, j} of mentions in the same sentence separated by at
+     *  most mentionWindow mentions.  Mentions are grouped into runs with the same
+     *  sentence index, and pairs are generated only within each run.
+     */
+
+    static List<int[]> candidatePairs (int[] sentenceOf) {
+	List<int[]> pairs = new ArrayList<int[]>();
+	int runStart = 0;
+	while (runStart < sentenceOf.length) {
+	    int runEnd = runStart + 1;
+	    while (runEnd < sentenceOf.length && sentenceOf[runEnd] == sentenceOf[runStart])
+		runEnd++;
+	    if (sentenceOf[runStart] >= 0) {
+		for (int i=runStart; i<runEnd-1; i++)
+		    for (int j=i+1; j<=i+mentionWindow && j<runEnd; j++)
+			pairs.add(new int[] {i, j});
+	    }
+	    runStart = runEnd;
+	}
+	return pairs;
+    }
+
+    /**
+     *  Features for relation tagging:  the types and identities of the arguments
+     *  and the number of words between the arguments.
+     */
+
+    Datum relationFeatures (Document doc, TokenIndex tokens, Mention m1, Mention m2) {
+	Datum d = new Datum(model);
+	d.addFV ("arg1", doc.normalizedText(m1));
+	d.addFV ("arg2", doc.normalizedText(m2));
+	String type1 = m1.getMentionOf().getSemType();
+	String type2 = m2.getMentionOf().getSemType();
+	d.addFV ("type1", type1);
+	d.addFV ("type2", type2);
+	d.addFV ("types", type1 + "-" + type2);
+	int wordsBetween = tokens.countBetween(m1.end(), m2.start());
+	d.addFV ("WordsBetween", Integer.toString(wordsBetween));
+	// d.addFV ("phraseBetween", tokens.join(tokens.firstBetween(m1.end(), m2.start()), wordsBetween, '_'));
+	return d;
+    }
+
+    public String[] requires () {
+	return new String[] {"token", "sentence", "entitytype"};
+    }
+
+    public String[] produces () {
+	return new String[] {"relation"};
+    }
+
+    /**
+     *  Annotate a document with RelationMention annotations.  
+     */
+
+    public Document annotate (Document doc, Span span) {
+	// load model if not previously loaded.
+	if (!model.isLoaded())
+	    model.loadModel();
+	List<Mention> mentionList = Coref.gatherMentions(doc, span);
+	// only the tokens and sentences of this zone are indexed
+	TokenIndex tokens = new TokenIndex(doc, span);
+	int[] offsets = new int[mentionList.size()];
+	for (int i=0; i<offsets.length; i++)
+	    offsets[i] = mentionList.get(i).start();
+	// iterate over all pairs of entity mentions appearing in the same sentence
+	List<int[]> pairs = candidatePairs(sentenceIndex(doc, span, offsets));
+	PipelineStats.count(PipelineStats.MENTIONS, mentionList.size());
+	PipelineStats.count(PipelineStats.PAIRS, pairs.size());
+	for (int[] pair : pairs) {
+	    Mention m1 = mentionList.get(pair[0]);
+	    Mention m2 = mentionList.get(pair[1]);
+	    // compte the features for this mentin pair and then use the
+	    // Maxent model to predict the relation, if any
+	    Datum d = relationFeatures (doc, tokens, m1, m2);
+	    String prediction = model.getBestOutcome(d.toArray());
+	    // if model predicts a relation, add a RelationMention annotation
+	    if ( !prediction.equals("other")) {
+		Span relSpan;
+		if (m1.start() < m2.start())
+		    relSpan = new Span (m1.start(), m2.end());
+		else
+		    relSpan = new Span (m2.start(), m1.end());
+		RelationMention rm = new RelationMention(relSpan);
+		doc.addAnnotation(rm);
+		rm.setSemType(prediction);
+		sink.relation(doc, rm, m1, m2);
+	    }
+	}
+	return doc;
+    }
+
+}
@@ -0,0 +1,218 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  A destination for the relations and events found by RelationTagger and
+ *  EventTagger, written as one structured record per line.
+ *  <p>
+ *  Records are kept by document, so the stages of a document may run on any
+ *  threads.  A thread writes each record into a buffer of its own and then
+ *  adds it to the records of its document;  when the document is finished
+ *  (see endDocument), its records are written together to the sink's file,
+ *  through one writer, so that the records of different documents are never
+ *  mixed.  Records written after close reopen the file, adding to it.
+ */
+
+public abstract class ResultSink {
+
+    String fileName;
+
+    // the writer for the file, opened on first use and after close
+    private PrintWriter out;
+
+    // true once the file has been opened (and so is added to if reopened)
+    private boolean opened;
+
+    // the identifier of each document being processed
+    private Map<Document, String> docIds = new IdentityHashMap<Document, String>();
+
+    // the records of each document not yet written
+    private Map<Document, CharArrayWriter> pending = new IdentityHashMap<Document, CharArrayWriter>();
+
+    // the record being written by the current thread
+    private ThreadLocal<CharArrayWriter> record = new ThreadLocal<CharArrayWriter>() {
+	protected CharArrayWriter initialValue () {
+	    return new CharArrayWriter();
+	}
+    };
+
+    private ThreadLocal<PrintWriter> recordWriter = new ThreadLocal<PrintWriter>() {
+	protected PrintWriter initialValue () {
+	    return new PrintWriter(record.get());
+	}
+    };
+
+    /**
+     *  Returns the sink specified by properties ResultSink.format ("jsonl",
+     *  "tsv" or "none") and ResultSink.fileName.  If no format is given,
+     *  returns a sink which discards all records.  Returns null if a format
+     *  is given without a file name (standard output holds the documents
+     *  written by Hub).
+     */
+
+    public static ResultSink create (Properties config) {
+	String format = config.getProperty("ResultSink.format");
+	String fileName = config.getProperty("ResultSink.fileName");
+	if (format == null || format.equals("none"))
+	    return new NullSink();
+	if (fileName == null) {
+	    System.out.println("ResultSink.fileName not specified");
+	    return null;
+	}
+	else if (format.equals("jsonl"))
+	    return new JsonLinesSink(fileName);
+	else if (format.equals("tsv"))
+	    return new TsvSink(fileName);
+	System.out.println("Unknown ResultSink.format " + format);
+	return new NullSink();
+    }
+
+    protected ResultSink (String fileName) {
+	this.fileName = fileName;
+    }
+
+    /**
+     *  Sets the identifier of Document 'doc';  it is included in each record
+     *  written for 'doc', by any thread.
+     */
+
+    public void startDocument (Document doc, String id) {
+	synchronized (pending) {
+	    docIds.put(doc, id);
+	}
+    }
+
+    /**
+     *  Writes the records of Document 'doc' and forgets its identifier.
+     */
+
+    public void endDocument (Document doc) {
+	CharArrayWriter records;
+	synchronized (pending) {
+	    docIds.remove(doc);
+	    records = pending.remove(doc);
+	}
+	if (records != null)
+	    write(records);
+    }
+
+    /**
+     *  Returns the identifier of Document 'doc', or "" if none has been set.
+     */
+
+    protected String docId (Document doc) {
+	synchronized (pending) {
+	    String id = docIds.get(doc);
+	    return (id == null) ? "" : id;
+	}
+    }
+
+    /**
+     *  Returns the writer for a new record on the current thread.  When the
+     *  record is complete, it is added to those of its document by endRecord.
+     */
+
+    protected PrintWriter startRecord () {
+	record.get().reset();
+	return recordWriter.get();
+    }
+
+    /**
+     *  Adds the record written since startRecord to the records of 'doc'.
+     */
+
+    protected void endRecord (Document doc) {
+	recordWriter.get().flush();
+	char[] chars = record.get().toCharArray();
+	synchronized (pending) {
+	    CharArrayWriter records = pending.get(doc);
+	    if (records == null) {
+		records = new CharArrayWriter();
+		pending.put(doc, records);
+	    }
+	    records.write(chars, 0, chars.length);
+	}
+    }
+
+    /**
+     *  Records relation 'rm' between mentions 'arg1' and 'arg2' of
+     *  Document 'doc'.
+     */
+
+    public abstract void relation (Document doc, RelationMention rm, Mention arg1, Mention arg2);
+
+    /**
+     *  Records event 'em' of Document 'doc'.
+     */
+
+    public abstract void event (Document doc, EventMention em);
+
+    /**
+     *  Writes 'records' to the file, opening it on first use.
+     */
+
+    private synchronized void write (CharArrayWriter records) {
+	if (out == null) {
+	    try {
+		Writer w = new FileWriter(fileName, opened);
+		opened = true;
+		out = new PrintWriter(new BufferedWriter(w, 1 << 16));
+	    } catch (IOException e) {
+		System.out.println("Unable to open result file " + fileName + ": " + e);
+		out = new PrintWriter(new Writer() {
+		    public void write (char[] c, int off, int len) {}
+		    public void flush () {}
+		    public void close () {}
+		});
+	    }
+	}
+	char[] chars = records.toCharArray();
+	out.write(chars, 0, chars.length);
+    }
+
+    /**
+     *  Writes the records of the documents not yet finished.
+     */
+
+    private void writePending () {
+	List<CharArrayWriter> all;
+	synchronized (pending) {
+	    all = new ArrayList<CharArrayWriter>(pending.values());
+	    pending.clear();
+	}
+	for (CharArrayWriter records : all)
+	    write(records);
+    }
+
+    /**
+     *  Flushes the records of the finished documents to the file.
+     */
+
+    public synchronized void flush () {
+	if (out != null)
+	    out.flush();
+    }
+
+    /**
+     *  Writes all records, including those of documents not yet finished,
+     *  and closes the file.
+     */
+
+    public synchronized void close () {
+	writePending();
+	if (out != null) {
+	    out.close();
+	    out = null;
+	}
+    }
+}
@@ -22,6 +22,14 @@ public class SentenceSplitter extends Annotator {
   public SentenceSplitter (Properties config) {
   }
 
+  public String[] requires () {
+      return new String[] {"token"};
+  }
+
+  public String[] produces () {
+      return new String[] {"sentence"};
+  }
+
   /**
    *  Add Sentence annotations to Span span of Document doc.
    */
@@ -31,19 +39,22 @@ public class SentenceSplitter extends Annotator {
       int end = span.end();
       posn = doc.skipWhitespace(posn, span.end());
       int sentenceStart = posn;
+      List<Sentence> sentences = new ArrayList<Sentence>();
       while (posn < span.end()) {
 	  Token tok = doc.tokenAt(posn);
 	  if (tok == null) {
-	      return doc; // error
+	      break; // error
 	  }
 	  String tokenText = doc.normalizedText(tok);
 	  if (tokenText.equals(".")) {
-	      doc.addAnnotation( new Sentence (new Span(sentenceStart, tok.end())));
+	      sentences.add(new Sentence (new Span(sentenceStart, tok.end())));
 	      sentenceStart = tok.end();
 	  }
 	  posn = tok.end();
       }
       //  should check for a partial sentence at end
+      doc.addAnnotations(sentences);
+      PipelineStats.count(PipelineStats.SENTENCES, sentences.size());
       return doc;
   }
 
@@ -0,0 +1,239 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  A local store of the results of the stages of the pipeline, so that
+ *  when only a later stage (or its model) changes, the earlier stages need
+ *  not be run again.
+ *  <p>
+ *  Each stage has a key which is a hash of the key of the previous stage
+ *  (for the first stage, a hash of the document text and of the zones
+ *  annotated, property Hub.zones), the name of the stage, its properties
+ *  and the contents of its model files.  The document (with all its
+ *  annotations) is saved in binary form (see BinaryDocument) after each of
+ *  the expensive stages (SNAPSHOT_STAGES) and after the last cacheable
+ *  stage, under the key of that stage, rather than after every stage,
+ *  which would write it over and over.  A document is restored from the last saved stage for
+ *  which nothing it depends on, including the stages before it, has
+ *  changed, so that changing (say) the entity model reruns only the
+ *  stages after coref.
+ *  <p>
+ *  The stages which write records to the ResultSink (SINK_STAGES), and
+ *  those after them, are not cacheable:  restoring their annotations would
+ *  not write their records again.
+ *  <p>
+ *  Entries are stored as dir/xx/key.jld and never removed;  to clear the
+ *  cache, delete the directory.
+ */
+
+public class StageCache {
+
+    // changed whenever the stored form of the documents changes
+    static final String VERSION = "2";
+
+    // the stages which write to the ResultSink
+    static final Set<String> SINK_STAGES = new HashSet<String>(Arrays.asList("relation", "event"));
+
+    // the stages after which the document is saved, besides the last
+    static final Set<String> SNAPSHOT_STAGES = new HashSet<String>(Arrays.asList("parse", "coref"));
+
+    File dir;
+
+    Properties config;
+
+    // the hash of the properties and model files of each stage
+    Map<String, String> fingerprints = new HashMap<String, String>();
+
+    AtomicLong hits = new AtomicLong();
+    AtomicLong misses = new AtomicLong();
+
+    /**
+     *  Creates a cache in directory 'dirName' for stages configured by 'config'.
+     */
+
+    public StageCache (String dirName, Properties config) {
+	dir = new File(dirName);
+	this.config = config;
+    }
+
+    /**
+     *  Returns the key of each cacheable stage of 'order' (those before the
+     *  first of SINK_STAGES), applied in turn to 'doc', or null if a model
+     *  file cannot be read.
+     */
+
+    public List<String> keys (Document doc, List<String> order) {
+	List<String> keys = new ArrayList<String>(order.size());
+	// the stages annotate each zone separately, so their results depend
+	// on the zones as well as the text
+	String zones = (Hub.zones == null) ? "" : String.join(" ", Hub.zones);
+	String key = hash(VERSION, doc.text(), zones);
+	try {
+	    for (String stage : order) {
+		if (SINK_STAGES.contains(stage))
+		    break;
+		key = hash(key, stage, fingerprint(stage));
+		keys.add(key);
+	    }
+	} catch (IOException e) {
+	    System.out.println("StageCache:  " + e);
+	    return null;
+	}
+	return keys;
+    }
+
+    /**
+     *  Finds the last stage of 'order' (with 'keys', from keys) whose result
+     *  is in the cache and, if there is one, replaces the annotations of
+     *  'doc' by that result, adding the stages applied to 'done'.  Returns
+     *  the number of stages of 'order' whose result has been restored.
+     */
+
+    public int restore (Document doc, List<String> order, List<String> keys, Set<String> done) {
+	for (int i = (keys == null) ? -1 : keys.size() - 1; i >= 0; i--) {
+	    if (!saved(order, keys, i))
+		continue;
+	    File file = file(keys.get(i));
+	    if (!file.exists())
+		continue;
+	    try {
+		BinaryDocument.load(file, done, doc);
+		hits.addAndGet(i + 1);
+		misses.addAndGet(order.size() - i - 1);
+		return i + 1;
+	    } catch (IOException e) {
+		System.out.println("StageCache:  cannot read " + file + ": " + e);
+		doc.clearAnnotations();
+		done.clear();
+		Hub.getTEXTspan(doc);
+		break;
+	    }
+	}
+	misses.addAndGet(order.size());
+	return 0;
+    }
+
+    /**
+     *  Returns true if the result of stage 'i' of 'order' (with 'keys',
+     *  from keys) is saved:  if it is one of SNAPSHOT_STAGES or the last
+     *  cacheable stage.
+     */
+
+    public boolean saved (List<String> order, List<String> keys, int i) {
+	return i < keys.size() && (i == keys.size() - 1 || SNAPSHOT_STAGES.contains(order.get(i)));
+    }
+
+    /**
+     *  Saves 'doc', to which stages 'done' have been applied, under 'key'
+     *  (from keys).
+     */
+
+    public void save (Document doc, String key, Set<String> done) {
+	File file = file(key);
+	if (file.exists())
+	    return;
+	file.getParentFile().mkdirs();
+	try {
+	    // write to a temporary file and rename it, so that a partly written
+	    // entry is never read
+	    File temp = File.createTempFile(key, ".tmp", file.getParentFile());
+	    BinaryDocument.save(doc, done, temp);
+	    if (!temp.renameTo(file))
+		temp.delete();
+	} catch (IOException e) {
+	    System.out.println("StageCache:  cannot write " + file + ": " + e);
+	}
+    }
+
+    /**
+     *  Writes the number of stage results found in and missing from the cache.
+     */
+
+    public void report (PrintStream out) {
+	out.println("StageCache: " + hits.get() + " stages restored, " + misses.get() + " run");
+    }
+
+    File file (String key) {
+	return new File(new File(dir, key.substring(0, 2)), key + ".jld");
+    }
+
+    /**
+     *  Returns a hash of the properties of 'stage' and the contents of the
+     *  files named by its .fileName properties.
+     */
+
+    synchronized String fingerprint (String stage) throws IOException {
+	String fingerprint = fingerprints.get(stage);
+	if (fingerprint != null)
+	    return fingerprint;
+	MessageDigest md = digest();
+	int i = Hub.ANNOTATORS.indexOf(stage);
+	Properties props = Hub.props(config, (i < 0) ? stage : Hub.PREFIXES.get(i));
+	for (String name : new TreeSet<String>(props.stringPropertyNames())) {
+	    String value = props.getProperty(name);
+	    update(md, name);
+	    update(md, value);
+	    if (name.endsWith(".fileName")) {
+		File file = MaxEntModel.modelFile(value);
+		if (file != null)
+		    update(md, file);
+	    }
+	}
+	fingerprint = hex(md.digest());
+	fingerprints.put(stage, fingerprint);
+	return fingerprint;
+    }
+
+    static String hash (String... parts) {
+	MessageDigest md = digest();
+	for (String part : parts)
+	    update(md, part);
+	return hex(md.digest());
+    }
+
+    static MessageDigest digest () {
+	try {
+	    return MessageDigest.getInstance("SHA-256");
+	} catch (NoSuchAlgorithmException e) {
+	    throw new RuntimeException(e);
+	}
+    }
+
+    // each string is followed by a 0 byte, so that different lists of
+    // strings never hash the same bytes
+    static void update (MessageDigest md, String s) {
+	md.update(s.getBytes(StandardCharsets.UTF_8));
+	md.update((byte) 0);
+    }
+
+    static void update (MessageDigest md, File file) throws IOException {
+	InputStream in = new FileInputStream(file);
+	try {
+	    byte[] buf = new byte[65536];
+	    for (int n; (n = in.read(buf)) > 0; )
+		md.update(buf, 0, n);
+	} finally {
+	    in.close();
+	}
+    }
+
+    static String hex (byte[] bytes) {
+	StringBuilder sb = new StringBuilder(bytes.length * 2);
+	for (byte b : bytes)
+	    sb.append(String.format("%02x", b & 0xff));
+	return sb.toString();
+    }
+}
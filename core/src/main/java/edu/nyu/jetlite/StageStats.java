@@ -0,0 +1,70 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  Statistics for one stage of the pipeline (or for the complete pipeline),
+ *  accumulated over all documents processed:  histograms of the wall time,
+ *  CPU time and bytes allocated per document, and totals of the item
+ *  counts.
+ */
+
+public class StageStats implements StageStatsMBean {
+
+    String name;
+
+    Histogram wall = new Histogram();
+
+    Histogram cpu = new Histogram();
+
+    Histogram allocated = new Histogram();
+
+    AtomicLong[] totals = new AtomicLong[PipelineStats.COUNTER_NAMES.length];
+
+    StageStats (String name) {
+	this.name = name;
+	for (int i = 0; i < totals.length; i++)
+	    totals[i] = new AtomicLong();
+    }
+
+    /**
+     *  Records the measurements for one document.
+     */
+
+    void record (long wallNanos, long cpuNanos, long allocatedBytes, long[] itemCounts) {
+	wall.record(wallNanos);
+	cpu.record(cpuNanos);
+	allocated.record(allocatedBytes);
+	for (int i = 0; i < totals.length; i++)
+	    totals[i].addAndGet(itemCounts[i]);
+    }
+
+    public String getName () {return name;}
+
+    public long getDocuments () {return wall.count();}
+
+    public double getWallMillisP50 () {return wall.percentile(0.50) / 1e6;}
+    public double getWallMillisP95 () {return wall.percentile(0.95) / 1e6;}
+    public double getWallMillisP99 () {return wall.percentile(0.99) / 1e6;}
+
+    public double getCpuMillisP50 () {return cpu.percentile(0.50) / 1e6;}
+    public double getCpuMillisP95 () {return cpu.percentile(0.95) / 1e6;}
+    public double getCpuMillisP99 () {return cpu.percentile(0.99) / 1e6;}
+
+    public long getAllocatedKBP50 () {return allocated.percentile(0.50) / 1024;}
+    public long getAllocatedKBP95 () {return allocated.percentile(0.95) / 1024;}
+    public long getAllocatedKBP99 () {return allocated.percentile(0.99) / 1024;}
+
+    public long getTokens () {return totals[PipelineStats.TOKENS].get();}
+    public long getSentences () {return totals[PipelineStats.SENTENCES].get();}
+    public long getMentions () {return totals[PipelineStats.MENTIONS].get();}
+    public long getPairs () {return totals[PipelineStats.PAIRS].get();}
+    public long getModelCalls () {return totals[PipelineStats.MODEL_CALLS].get();}
+}
@@ -0,0 +1,37 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+/**
+ *  The JMX view of the statistics for one stage of the pipeline.  Times are
+ *  per document, in milliseconds;  allocation is per document, in kilobytes;
+ *  item counts are totals over all documents.
+ */
+
+public interface StageStatsMBean {
+
+    public long getDocuments ();
+
+    public double getWallMillisP50 ();
+    public double getWallMillisP95 ();
+    public double getWallMillisP99 ();
+
+    public double getCpuMillisP50 ();
+    public double getCpuMillisP95 ();
+    public double getCpuMillisP99 ();
+
+    public long getAllocatedKBP50 ();
+    public long getAllocatedKBP95 ();
+    public long getAllocatedKBP99 ();
+
+    public long getTokens ();
+    public long getSentences ();
+    public long getMentions ();
+    public long getPairs ();
+    public long getModelCalls ();
+}
@@ -0,0 +1,83 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Writes the annotations of each document in standoff form, leaving out
+ *  the text:  a line "# doc = id", then a line for each annotation giving
+ *  its ID, a tab, its type and the character offsets of its start and end,
+ *  and then a tab and its features, if it has any:
+ *  <pre>
+ *    #12	token 0 5	pos=NNP
+ *    #40	enamex 0 11	nameType=PERSON tokens=[John Smith]
+ *  </pre>
+ *  A feature whose value is an annotation is given by its ID;  a list is
+ *  enclosed in brackets.  The offsets are those of the document as read,
+ *  so the annotations can be lined up with the original file.
+ */
+
+public class StandoffWriter extends DocumentWriter {
+
+    private boolean firstFeature;
+
+    public StandoffWriter (OutputStream stream) {
+	super(stream);
+    }
+
+    public void write (Document doc, String id) throws IOException {
+	out.write("# doc = ");
+	out.write(String.valueOf(id));
+	out.write('\n');
+	for (String type : doc.getAnnotationTypes()) {
+	    for (Annotation a : doc.annotationList(type)) {
+		out.write(String.valueOf(a.getID()));
+		out.write('\t');
+		out.write(a.type());
+		out.write(' ');
+		out.write(Integer.toString(a.start()));
+		out.write(' ');
+		out.write(Integer.toString(a.end()));
+		firstFeature = true;
+		writeFeatures(a);
+		out.write('\n');
+	    }
+	}
+    }
+
+    protected void feature (String name, Object value) throws IOException {
+	if (value == null)
+	    return;
+	out.write(firstFeature ? '\t' : ' ');
+	firstFeature = false;
+	out.write(name);
+	out.write('=');
+	if (value instanceof List) {
+	    out.write('[');
+	    List list = (List) value;
+	    for (int i = 0; i < list.size(); i++) {
+		if (i > 0)
+		    out.write(' ');
+		value(list.get(i));
+	    }
+	    out.write(']');
+	} else {
+	    value(value);
+	}
+    }
+
+    private void value (Object value) throws IOException {
+	if (value instanceof Annotation)
+	    out.write(String.valueOf(((Annotation) value).getID()));
+	else
+	    out.write(String.valueOf(value));
+    }
+}
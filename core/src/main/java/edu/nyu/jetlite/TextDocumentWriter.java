@@ -0,0 +1,36 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+
+/**
+ *  Writes each document as Document.toString prints it:  its text, a
+ *  newline, and then each annotation on a line of its own.
+ */
+
+public class TextDocumentWriter extends DocumentWriter {
+
+    public TextDocumentWriter (OutputStream stream) {
+	super(stream);
+    }
+
+    public void write (Document doc, String id) throws IOException {
+	writeText(doc, 0, doc.length());
+	out.write('\n');
+	for (String type : doc.getAnnotationTypes()) {
+	    for (Annotation a : doc.annotationList(type)) {
+		out.write(a.toString());
+		out.write('\n');
+	    }
+	}
+	// a blank line, as println(doc) gave
+	out.write('\n');
+    }
+}
@@ -0,0 +1,138 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.util.*;
+
+/**
+ *  An index of the tokens of a Document, built once per document, giving the
+ *  start, end and normalized text of the i-th token.  Used to count and list
+ *  the tokens between two offsets without walking the document token by token.
+ */
+
+public class TokenIndex {
+
+    int[] starts;
+
+    int[] ends;
+
+    String[] text;
+
+    // index of the last token of the run of adjacent tokens containing token i
+    int[] runEnd;
+
+    /**
+     *  Builds the index for the Token annotations of Document 'doc'.
+     */
+
+    public TokenIndex (Document doc) {
+	this(doc, null);
+    }
+
+    /**
+     *  Builds the index for the Token annotations of Document 'doc' within
+     *  'span' (or of all of 'doc', if 'span' is null).
+     */
+
+    public TokenIndex (Document doc, Span span) {
+	Vector<Annotation> tokens = doc.annotationsOfType("token", span);
+	List<Annotation> sorted = new ArrayList<Annotation>();
+	if (tokens != null) {
+	    sorted.addAll(tokens);
+	    // a stable sort, so that of several tokens starting at the same
+	    // offset, the first one added (the one returned by tokenAt) comes first
+	    Annotation.sortByStartPosition(sorted);
+	}
+	int n = 0;
+	for (int i = 0; i < sorted.size(); i++)
+	    if (i == 0 || sorted.get(i).start() != sorted.get(i - 1).start())
+		sorted.set(n++, sorted.get(i));
+	starts = new int[n];
+	ends = new int[n];
+	text = new String[n];
+	runEnd = new int[n];
+	if (n == 0)
+	    return;
+	for (int i = 0; i < n; i++) {
+	    Annotation token = sorted.get(i);
+	    starts[i] = token.start();
+	    ends[i] = token.end();
+	    text[i] = doc.normalizedText(token);
+	}
+	runEnd[n - 1] = n - 1;
+	for (int i = n - 2; i >= 0; i--)
+	    runEnd[i] = (ends[i] == starts[i + 1]) ? runEnd[i + 1] : i;
+    }
+
+    /**
+     *  Returns the number of tokens.
+     */
+
+    public int size () {
+	return starts.length;
+    }
+
+    /**
+     *  Returns the index of the token starting at offset 'posn', or -1
+     *  if no token starts there.
+     */
+
+    public int indexAt (int posn) {
+	int i = Arrays.binarySearch(starts, posn);
+	return (i >= 0) ? i : -1;
+    }
+
+    /**
+     *  Returns the normalized text of the i-th token.
+     */
+
+    public String text (int i) {
+	return text[i];
+    }
+
+    /**
+     *  Returns the index of the first of the tokens between offsets 'from'
+     *  and 'to', or -1 if there are none.  These are the adjacent tokens
+     *  beginning with the token starting at 'from' and starting before 'to',
+     *  as would be found by following doc.tokenAt from 'from'.
+     */
+
+    public int firstBetween (int from, int to) {
+	return (from < to) ? indexAt(from) : -1;
+    }
+
+    /**
+     *  Returns the number of tokens between offsets 'from' and 'to'.
+     */
+
+    public int countBetween (int from, int to) {
+	int first = firstBetween(from, to);
+	if (first < 0)
+	    return 0;
+	int i = Arrays.binarySearch(starts, to);
+	int limit = (i >= 0) ? i : -i - 1;
+	return Math.min(limit, runEnd[first] + 1) - first;
+    }
+
+    /**
+     *  Returns the normalized text of the 'count' tokens starting with token
+     *  'first', separated by 'separator'.
+     */
+
+    public String join (int first, int count, char separator) {
+	if (count <= 0)
+	    return "";
+	StringBuilder sb = new StringBuilder();
+	for (int i = first; i < first + count; i++) {
+	    if (i > first) sb.append(separator);
+	    sb.append(text[i]);
+	}
+	return sb.toString();
+    }
+}
@@ -76,14 +76,23 @@ public class  Tokenizer extends Annotator {
     public Tokenizer (Properties config) {
     }
 
+    public String[] requires () {
+	return new String[0];
+    }
+
+    public String[] produces () {
+	return new String[] {"token"};
+    }
+
     public Document annotate (Document doc, Span span) {
 
 	String text = doc.text();
+	List<Token> tokens = new ArrayList<Token>();
 	int posn = span.start();
 	posn = doc.skipWhitespace(posn, span.end());
 
 	while (posn < span.end()) {
-	    int tokenStart = posn;
+	    tokenStart = posn;
 	    char c = doc.charAt(posn);
 	    int len = abbreviationCheck(text, posn);
 	    if (len > 0) {
@@ -95,15 +104,17 @@ public class  Tokenizer extends Annotator {
 		while (posn < span.end() && Character.isLetter(doc.charAt(posn)))
 		    posn++;
 		if (posn + 2 < span.end())
-		    posn = contractionCheck(doc, posn);
+		    posn = contractionCheck(doc, posn, tokens);
 	    } else {
 		posn++;
 		while (posn < span.end() && Character.isDigit(doc.charAt(posn)))
 		    posn++;
 	    }
 	    posn = doc.skipWhitespace(posn, span.end());
-	    doc.addAnnotation (new Token (new Span(tokenStart, posn)));
+	    tokens.add(new Token (new Span(tokenStart, posn)));
 	}
+	doc.addAnnotations(tokens);
+	PipelineStats.count(PipelineStats.TOKENS, tokens.size());
 	return doc;
     }
 
@@ -121,19 +132,20 @@ public class  Tokenizer extends Annotator {
 
     /**
      *  If the text at offset 'posn' is the apostrophe of a contraction
-     *  split the contraction into two tokens following Penn Tree Bank rules.
+     *  split the contraction into two tokens following Penn Tree Bank rules,
+     *  adding the first to 'tokens'.
      */
 
-    private int contractionCheck (Document doc, int posn) {
+    private int contractionCheck (Document doc, int posn, List<Token> tokens) {
 	if (doc.charAt(posn) == '\'') {
 	    if (doc.charAt(posn + 1) == 's' && !Character.isLetter(doc.charAt(posn + 2))) {
-		doc.addAnnotation(new Token (new Span (tokenStart, posn)));
+		tokens.add(new Token (new Span (tokenStart, posn)));
 		tokenStart = posn;
 		posn = posn + 2;
 	    }
 	    if (doc.charAt(posn - 1) == 'n' && doc.charAt(posn + 1) == 't' && 
 		    Character.isLetter(doc.charAt(posn + 2))) {
-		doc.addAnnotation(new Token (new Span (tokenStart, posn - 1)));
+		tokens.add(new Token (new Span (tokenStart, posn - 1)));
 		tokenStart = posn - 1;
 		posn = posn + 2;
 	    }
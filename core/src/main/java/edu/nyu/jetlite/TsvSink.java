@@ -0,0 +1,57 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+
+/**
+ *  A ResultSink writing one tab-separated record per line:  <br>
+ *  doc  relation  type  start  end  text  arg1Start  arg1End  arg1Text  arg2Start  arg2End  arg2Text <br>
+ *  doc  event     type  start  end  text
+ *  <p>
+ *  Tabs and newlines within text fields are replaced by blanks.
+ */
+
+public class TsvSink extends ResultSink {
+
+    public TsvSink (String fileName) {
+	super(fileName);
+    }
+
+    public void relation (Document doc, RelationMention rm, Mention arg1, Mention arg2) {
+	PrintWriter w = startRecord();
+	w.print(docId(doc));
+	w.print("\trelation\t");
+	w.print(rm.getSemType());
+	span(w, doc, rm);
+	span(w, doc, arg1);
+	span(w, doc, arg2);
+	w.print('\n');
+	endRecord(doc);
+    }
+
+    public void event (Document doc, EventMention em) {
+	PrintWriter w = startRecord();
+	w.print(docId(doc));
+	w.print("\tevent\t");
+	w.print(em.getSemType());
+	span(w, doc, em);
+	w.print('\n');
+	endRecord(doc);
+    }
+
+    private static void span (PrintWriter w, Document doc, Annotation a) {
+	w.print('\t');
+	w.print(a.start());
+	w.print('\t');
+	w.print(a.end());
+	w.print('\t');
+	w.print(doc.normalizedText(a).replace('\t', ' '));
+    }
+}
@@ -0,0 +1,73 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+/**
+ *  A disjoint-set (union-find) structure over the integers 0 ... n-1,
+ *  with union by size and path halving.  Used by Coref to record which
+ *  mentions have been found to corefer before any Entity is built.
+ */
+
+public class UnionFind {
+
+    private int[] parent;
+
+    private int[] size;
+
+    /**
+     *  Creates a structure in which each of the 'n' elements is in a set
+     *  by itself.
+     */
+
+    public UnionFind (int n) {
+	parent = new int[n];
+	size = new int[n];
+	for (int i = 0; i < n; i++) {
+	    parent[i] = i;
+	    size[i] = 1;
+	}
+    }
+
+    /**
+     *  Returns the representative element of the set containing 'i'.
+     */
+
+    public int find (int i) {
+	while (parent[i] != i) {
+	    parent[i] = parent[parent[i]];
+	    i = parent[i];
+	}
+	return i;
+    }
+
+    /**
+     *  Merges the sets containing 'i' and 'j'.  Returns false if they
+     *  were already in the same set.
+     */
+
+    public boolean union (int i, int j) {
+	int ri = find(i);
+	int rj = find(j);
+	if (ri == rj)
+	    return false;
+	if (size[ri] < size[rj]) {
+	    int t = ri; ri = rj; rj = t;
+	}
+	parent[rj] = ri;
+	size[ri] += size[rj];
+	return true;
+    }
+
+    /**
+     *  Returns the number of elements.
+     */
+
+    public int size () {
+	return parent.length;
+    }
+}
@@ -0,0 +1,135 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import static org.junit.Assert.*;
+
+import edu.nyu.jetlite.tipster.*;
+import java.util.*;
+import org.junit.Test;
+
+/**
+ *  Tests BIO scoring and tagging with integer tag codes against the
+ *  earlier version, which compared interned strings.
+ */
+
+public class BIOTest {
+
+    static final String[] TAGS = {"O", "B-PER", "I-PER", "B-ORG", "I-ORG", "I-GPE", "X"};
+
+    /**
+     *  Scores 'response' against 'key' as the string version of BIO.score
+     *  did, returning the counts in 'score'.
+     */
+
+    static void stringScore (String[] response, String[] key, BIO.Score score) {
+	int len = response.length;
+	int keyStart = -1;
+	int responseStart = -1;
+	String keyGroupType = "";
+	String responseGroupType = "";
+	for (int i=0; i < len; i++) {
+	    String responseTag = response[i].intern();
+	    String responsePrefix = responseTag.substring(0, 1).intern();
+	    String responseType = (responseTag.length() < 2) ? "" : responseTag.substring(2).intern();
+	    String keyTag = key[i].intern();
+	    String keyPrefix = keyTag.substring(0, 1).intern();
+	    String keyType = (keyTag.length() < 2) ? "" : keyTag.substring(2).intern();
+	    if (responseTag == keyTag)
+		score.correct++;
+	    else
+		score.incorrect++;
+	    boolean responseEnd =  responseStart>=0 && (responseTag=="O" || responsePrefix=="B" || (responsePrefix=="I" && responseType!=responseGroupType));
+	    boolean responseBegin = (responseStart<0 || responseEnd) && (responsePrefix=="B" || responsePrefix=="I");
+	    boolean keyEnd =  keyStart>=0 && (keyTag=="O" || keyPrefix=="B" || (keyPrefix=="I" && keyType!=keyGroupType));
+	    boolean keyBegin = (keyStart<0 || keyEnd) && (keyPrefix=="B" || keyPrefix=="I");
+	    if (responseEnd)
+		score.responseGroupCount++;
+	    if (keyEnd)
+		score.keyGroupCount++;
+	    if (responseEnd & keyEnd & responseStart == keyStart & responseGroupType == keyGroupType)
+		score.correctGroupCount++;
+	    if (responseBegin) {
+		responseStart = i;
+		responseGroupType = responseType;
+	    }
+	    else if (responseEnd)
+		responseStart = -1;
+	    if (keyBegin) {
+		keyStart = i;
+		keyGroupType = keyType;
+	    }
+	    else if (keyEnd)
+		keyStart = -1;
+	}
+    }
+
+    static String[] randomTags (Random random, int length) {
+	String[] tags = new String[length];
+	for (int i = 0; i < length; i++)
+	    // new String, so that the tags are not already interned
+	    tags[i] = new String(TAGS[random.nextInt(TAGS.length)]);
+	return tags;
+    }
+
+    @Test
+    public void scoreMatchesStringVersion () {
+	Random random = new Random(17);
+	BIO bio = new BIO();
+	BIO.Score expected = new BIO.Score();
+	BIO.Score found = new BIO.Score();
+	for (int trial = 0; trial < 2000; trial++) {
+	    int length = random.nextInt(20);
+	    String[] key = randomTags(random, length);
+	    // a response which mostly agrees with the key
+	    String[] response = key.clone();
+	    for (int i = 0; i < length; i++)
+		if (random.nextInt(4) == 0)
+		    response[i] = TAGS[random.nextInt(TAGS.length)];
+	    stringScore(response, key, expected);
+	    if (trial % 2 == 0)
+		bio.score(bio.encode(response), bio.encode(key), found);
+	    else
+		found.add(bio.score(response, key));
+	}
+	assertEquals(expected.correct, found.correct);
+	assertEquals(expected.incorrect, found.incorrect);
+	assertEquals(expected.keyGroupCount, found.keyGroupCount);
+	assertEquals(expected.responseGroupCount, found.responseGroupCount);
+	assertEquals(expected.correctGroupCount, found.correctGroupCount);
+	assertTrue(found.correctGroupCount > 0);
+    }
+
+    @Test
+    public void codes () {
+	BIO bio = new BIO();
+	int per = bio.code("B-PER");
+	assertEquals(per, bio.code(new String("B-PER")));
+	assertEquals("B-PER", bio.tag(per));
+	assertArrayEquals(new int[] {per, bio.code("O"), per}, bio.encode(new String[] {"B-PER", "O", "B-PER"}));
+    }
+
+    @Test
+    public void tag () {
+	Document doc = new Document("John Smith met Acme Corp today");
+	String[] words = doc.text().split(" ");
+	Span[] spans = new Span[words.length];
+	int posn = 0;
+	for (int i = 0; i < words.length; i++) {
+	    spans[i] = new Span(posn, posn + words[i].length());
+	    posn += words[i].length() + 1;
+	}
+	new BIO().tag(doc, spans, new String[] {"B-PER", "I-PER", "O", "B-ORG", "I-ORG", "O"});
+	Vector<Annotation> names = doc.annotationsOfType("enamex");
+	assertEquals(2, names.size());
+	assertEquals("John Smith", doc.text(names.get(0)));
+	assertEquals("PER", ((Enamex) names.get(0)).getNameType());
+	assertEquals("Acme Corp", doc.text(names.get(1)));
+	assertEquals("ORG", ((Enamex) names.get(1)).getNameType());
+    }
+}
@@ -0,0 +1,84 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import static org.junit.Assert.*;
+
+import edu.nyu.jetlite.tipster.*;
+import java.util.*;
+import org.junit.Test;
+
+/**
+ *  Tests that Coref builds one Entity for each set of coreferential
+ *  mentions.
+ */
+
+public class CorefTest {
+
+    @Test
+    public void oneEntityPerSet () {
+	Random random = new Random(11);
+	int n = 60;
+	Document doc = new Document(new String(new char[2 * n]).replace('\0', 'x'));
+	List<Mention> mentions = new ArrayList<Mention>();
+	for (int i = 0; i < n; i++) {
+	    Mention m = new Mention(new Span(2 * i, 2 * i + 1));
+	    doc.addAnnotation(m);
+	    mentions.add(m);
+	}
+	UnionFind merges = new UnionFind(n);
+	for (int step = 0; step < 40; step++)
+	    merges.union(random.nextInt(n), random.nextInt(n));
+	new Coref(new Properties()).createEntities(doc, mentions, merges);
+	// the expected entities:  the mentions of each set, in order
+	Map<Integer, List<Mention>> sets = new LinkedHashMap<Integer, List<Mention>>();
+	for (int i = 0; i < n; i++) {
+	    int root = merges.find(i);
+	    if (!sets.containsKey(root))
+		sets.put(root, new ArrayList<Mention>());
+	    sets.get(root).add(mentions.get(i));
+	}
+	List<Annotation> entities = doc.allAnnotationsOfType("entity");
+	assertEquals(sets.size(), entities.size());
+	int e = 0;
+	for (List<Mention> set : sets.values()) {
+	    Entity entity = (Entity) entities.get(e++);
+	    assertEquals(set, entity.getMentions());
+	    assertEquals(set.get(0).span(), entity.span());
+	    for (Mention m : set)
+		assertSame(entity, m.getMentionOf());
+	}
+    }
+
+    @Test
+    public void nameCoref () {
+	Document doc = new Document("John Smith said that Smith won");
+	String[] pos = {"NNP", "NNP", "VBD", "IN", "NNP", "VBD"};
+	// as from the Tokenizer, each token includes the whitespace after it
+	int posn = 0;
+	for (int i = 0; i < pos.length; i++) {
+	    int end = doc.text().indexOf(' ', posn) + 1;
+	    if (end == 0)
+		end = doc.text().length();
+	    Token t = new Token(new Span(posn, end));
+	    t.setPos(pos[i]);
+	    doc.addAnnotation(t);
+	    posn = end;
+	}
+	Enamex john = new Enamex(new Span(0, 11));
+	john.setTokens(Arrays.asList("John", "Smith"));
+	doc.addAnnotation(john);
+	Enamex smith = new Enamex(new Span(21, 27));
+	smith.setTokens(Arrays.asList("Smith"));
+	doc.addAnnotation(smith);
+	new Coref(new Properties()).annotate(doc, new Span(0, doc.text().length()));
+	List<Annotation> entities = doc.allAnnotationsOfType("entity");
+	assertEquals(1, entities.size());
+	assertEquals(Arrays.asList(john, smith), ((Entity) entities.get(0)).getMentions());
+    }
+}
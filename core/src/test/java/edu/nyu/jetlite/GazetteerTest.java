@@ -0,0 +1,125 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.*;
+import org.junit.Test;
+
+/**
+ *  Tests that the Aho-Corasick automaton of a Gazetteer, through its
+ *  failure and output links, finds exactly the names found by comparing
+ *  every sequence of words with the names.
+ */
+
+public class GazetteerTest {
+
+    static final String[] VOCABULARY = {"new", "york", "city", "of", "the", "bank"};
+
+    static final String[] TYPES = {"gpe", "org", "loc"};
+
+    static Gazetteer gazetteer (List<String> lines) throws IOException {
+	StringBuilder sb = new StringBuilder();
+	for (String line : lines)
+	    sb.append(line).append('\n');
+	return new Gazetteer(new BufferedReader(new StringReader(sb.toString())));
+    }
+
+    /**
+     *  Returns the names found by the automaton, as "start end type".
+     */
+
+    static List<String> automatonNames (final Gazetteer g, String[] words) {
+	final List<String> names = new ArrayList<String>();
+	g.match(words, new Gazetteer.MatchHandler() {
+	    public void name (int start, int end, int types) {
+		for (int t = 0; types != 0; t++, types >>>= 1)
+		    if ((types & 1) != 0)
+			names.add(start + " " + end + " " + g.typeName(t));
+	    }
+	});
+	Collections.sort(names);
+	return names;
+    }
+
+    /**
+     *  Returns the names found by looking up every sequence of words.
+     */
+
+    static List<String> naiveNames (Map<String, Set<String>> entries, String[] words) {
+	List<String> names = new ArrayList<String>();
+	for (int start = 0; start < words.length; start++) {
+	    StringBuilder name = new StringBuilder();
+	    for (int end = start + 1; end <= words.length; end++) {
+		if (end > start + 1)
+		    name.append(' ');
+		name.append(words[end - 1]);
+		Set<String> types = entries.get(name.toString());
+		if (types != null)
+		    for (String type : types)
+			names.add(start + " " + end + " " + type);
+	    }
+	}
+	Collections.sort(names);
+	return names;
+    }
+
+    @Test
+    public void matchesEverySequence () throws IOException {
+	Random random = new Random(5);
+	for (int trial = 0; trial < 50; trial++) {
+	    // names over a small vocabulary, so that many are prefixes and
+	    // suffixes of others
+	    Map<String, Set<String>> entries = new HashMap<String, Set<String>>();
+	    List<String> lines = new ArrayList<String>();
+	    for (int n = 0; n < 40; n++) {
+		String[] tokens = new String[1 + random.nextInt(4)];
+		for (int i = 0; i < tokens.length; i++)
+		    tokens[i] = VOCABULARY[random.nextInt(VOCABULARY.length)];
+		String name = String.join(" ", tokens);
+		String type = TYPES[random.nextInt(TYPES.length)];
+		if (!entries.containsKey(name))
+		    entries.put(name, new HashSet<String>());
+		entries.get(name).add(type);
+		lines.add(type + "\t" + name);
+	    }
+	    Gazetteer g = gazetteer(lines);
+	    for (int s = 0; s < 20; s++) {
+		String[] words = new String[random.nextInt(15)];
+		for (int i = 0; i < words.length; i++)
+		    words[i] = (random.nextInt(10) == 0) ? "unknown"
+			: VOCABULARY[random.nextInt(VOCABULARY.length)];
+		assertEquals(String.join(" ", words), naiveNames(entries, words), automatonNames(g, words));
+	    }
+	}
+    }
+
+    @Test
+    public void outputLinks () throws IOException {
+	// "york" and "york city" end inside "new york city", and are only
+	// reached through the output links of its nodes
+	Gazetteer g = gazetteer(Arrays.asList("gpe\tnew york city", "gpe\tyork", "loc\tyork city",
+					      "org\tcity of new york"));
+	String[] words = "the city of new york city".split(" ");
+	assertEquals(Arrays.asList("1 5 org", "3 6 gpe", "4 5 gpe", "4 6 loc"), automatonNames(g, words));
+    }
+
+    @Test
+    public void labels () throws IOException {
+	Gazetteer g = gazetteer(Arrays.asList("gpe\tnew york", "org\tyork"));
+	int[] masks = g.match("in new york".split(" "));
+	assertEquals(0, masks[0]);
+	assertEquals(1 << 0, masks[1]);
+	assertEquals((1 << 1) | (1 << 2), masks[2]);
+	assertEquals("B-gpe", g.label(0));
+	assertEquals("I-gpe", g.label(1));
+	assertEquals("B-org", g.label(2));
+    }
+}
@@ -0,0 +1,58 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import org.junit.Test;
+
+/**
+ *  Tests UnionFind against a plain array of set labels.
+ */
+
+public class UnionFindTest {
+
+    @Test
+    public void matchesLabels () {
+	Random random = new Random(3);
+	int n = 200;
+	UnionFind merges = new UnionFind(n);
+	// label[i] = the set of element i;  merging relabels a whole set
+	int[] label = new int[n];
+	for (int i = 0; i < n; i++)
+	    label[i] = i;
+	for (int step = 0; step < 300; step++) {
+	    int i = random.nextInt(n), j = random.nextInt(n);
+	    boolean separate = label[i] != label[j];
+	    assertEquals(separate, merges.union(i, j));
+	    int old = label[j];
+	    for (int k = 0; k < n; k++)
+		if (label[k] == old)
+		    label[k] = label[i];
+	    if (step % 50 == 0)
+		assertSameSets(label, merges);
+	}
+	assertSameSets(label, merges);
+	assertEquals(n, merges.size());
+    }
+
+    static void assertSameSets (int[] label, UnionFind merges) {
+	for (int i = 0; i < label.length; i++)
+	    for (int j = 0; j < label.length; j++)
+		assertEquals(label[i] == label[j], merges.find(i) == merges.find(j));
+    }
+
+    @Test
+    public void singletons () {
+	UnionFind merges = new UnionFind(3);
+	for (int i = 0; i < 3; i++)
+	    assertEquals(i, merges.find(i));
+	assertFalse(merges.union(1, 1));
+    }
+}
@@ -1,9 +0,0 @@
-package edu.nyu.jetlite.tipster;
-
-public abstract class Annotator {
-
-    public abstract Document annotate (Document doc, Span span);
-
-}
-
-
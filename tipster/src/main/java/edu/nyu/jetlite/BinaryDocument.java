@@ -0,0 +1,456 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ *  A compact binary form of a Document and all its annotations, so that a
+ *  document can be saved after an expensive stage (such as parsing) and
+ *  read back later instead of being processed again.
+ *  <p>
+ *  The text is stored as UTF-8.  All annotations are stored, whatever the
+ *  active hypotheses, in order of their IDs, which are preserved;  numbers
+ *  are written as variable-length integers, and each distinct string
+ *  (types, part-of-speech tags, ...) is written once, as its length and
+ *  UTF-8 bytes, and afterwards referred to by number.  References between
+ *  annotations (mentionOf, dependents, the mentions of an entity) are stored
+ *  as annotation IDs.  A reference to an annotation which is not on the
+ *  document is read back as null.  Annotations of a class other than those
+ *  of JetLite, or with a hypothesis which is not a String, cannot be stored:
+ *  writing them throws an IOException.
+ *  <p>
+ *  Along with the document, a list of names (of the stages which have been
+ *  applied) may be stored.
+ */
+
+public class BinaryDocument {
+
+    static final int MAGIC = 0x4a4c4432;   // "JLD2"
+
+    // kinds of annotation
+    static final int ANNOTATION = 0;
+    static final int TOKEN = 1;
+    static final int MENTION = 2;
+    static final int ENAMEX = 3;
+    static final int ENTITY = 4;
+    static final int SENTENCE = 5;
+    static final int RELATION = 6;
+    static final int EVENT = 7;
+
+    /**
+     *  Writes 'doc', and the list 'stages', to file 'file'.
+     */
+
+    public static void save (Document doc, Collection<String> stages, File file) throws IOException {
+	DataOutputStream out =
+	    new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 65536));
+	try {
+	    write(doc, stages, out);
+	} finally {
+	    out.close();
+	}
+    }
+
+    /**
+     *  Reads a document from file 'file', adding the stages stored with it
+     *  to 'stages' (unless 'stages' is null).
+     */
+
+    public static Document load (File file, Collection<String> stages) throws IOException {
+	return load(file, stages, null);
+    }
+
+    /**
+     *  Reads a document from file 'file' as above, but if 'doc' is not null,
+     *  replaces the annotations on 'doc' by those read, rather than creating
+     *  a new Document.  The text read must be the same as that of 'doc'.
+     */
+
+    public static Document load (File file, Collection<String> stages, Document doc) throws IOException {
+	DataInputStream in =
+	    new DataInputStream(new BufferedInputStream(new FileInputStream(file), 65536));
+	try {
+	    return read(in, stages, doc);
+	} finally {
+	    in.close();
+	}
+    }
+
+    /**
+     *  Writes 'doc' and 'stages' (which may be null) to 'out'.
+     */
+
+    public static void write (Document doc, Collection<String> stages, DataOutput out) throws IOException {
+	Writer w = new Writer(out);
+	out.writeInt(MAGIC);
+	byte[] text = doc.text().getBytes(StandardCharsets.UTF_8);
+	w.writeInt(text.length);
+	out.write(text);
+	if (stages == null) {
+	    w.writeInt(0);
+	} else {
+	    w.writeInt(stages.size());
+	    for (String stage : stages)
+		w.writeString(stage);
+	}
+	List<Annotation> annotations = annotationsByID(doc);
+	w.writeInt(annotations.size());
+	for (Annotation a : annotations)
+	    w.writeAnnotation(a);
+    }
+
+    /**
+     *  Reads a document written by write from 'in', adding the stages stored
+     *  with it to 'stages' (unless 'stages' is null).
+     */
+
+    public static Document read (DataInput in, Collection<String> stages) throws IOException {
+	return read(in, stages, null);
+    }
+
+    /**
+     *  Reads a document written by write from 'in' into 'doc', as for load.
+     */
+
+    public static Document read (DataInput in, Collection<String> stages, Document doc) throws IOException {
+	Reader r = new Reader(in);
+	if (in.readInt() != MAGIC)
+	    throw new IOException("not a binary JetLite document");
+	byte[] bytes = new byte[r.readInt()];
+	in.readFully(bytes);
+	String text = new String(bytes, StandardCharsets.UTF_8);
+	if (doc == null) {
+	    doc = new Document(text);
+	} else {
+	    if (!text.equals(doc.text()))
+		throw new IOException("binary document does not match the text of the document");
+	    doc.clearAnnotations();
+	}
+	int nStages = r.readInt();
+	for (int i = 0; i < nStages; i++) {
+	    String stage = r.readString();
+	    if (stages != null)
+		stages.add(stage);
+	}
+	int n = r.readInt();
+	for (int i = 0; i < n; i++) {
+	    int id = r.readInt();
+	    Annotation a = r.readAnnotation();
+	    doc.setNextAnnotationID(id - 1);
+	    doc.addAnnotation(a);
+	}
+	r.resolve(doc);
+	return doc;
+    }
+
+    /**
+     *  Returns all the annotations on 'doc', including those of inactive
+     *  hypotheses, in order of their IDs.
+     */
+
+    static List<Annotation> annotationsByID (Document doc) {
+	List<Annotation> result = new ArrayList<Annotation>();
+	for (String type : doc.getAnnotationTypes())
+	    result.addAll(doc.allAnnotationsOfType(type));
+	Collections.sort(result, new Comparator<Annotation>() {
+	    public int compare (Annotation a, Annotation b) {
+		return Integer.compare(a.id(), b.id());
+	    }
+	});
+	return result;
+    }
+
+    static class Writer {
+
+	DataOutput out;
+
+	Map<String, Integer> strings = new HashMap<String, Integer>();
+
+	Writer (DataOutput out) {
+	    this.out = out;
+	}
+
+	void writeAnnotation (Annotation a) throws IOException {
+	    int kind = kind(a);
+	    writeInt(a.id());
+	    out.writeByte(kind);
+	    writeString(a.type());
+	    writeInt(a.start());
+	    writeInt(a.end() - a.start());
+	    Object hypo = a.getHypo();
+	    if (hypo != null && !(hypo instanceof String))
+		throw new IOException("cannot store hypothesis " + hypo + " of annotation " + a.getID()
+				      + ", which is not a String");
+	    writeString((String) hypo);
+	    switch (kind) {
+	    case TOKEN:
+		writeString(((Token) a).getPos());
+		writeMention((Mention) a);
+		break;
+	    case MENTION:
+		writeMention((Mention) a);
+		break;
+	    case ENAMEX:
+		Enamex e = (Enamex) a;
+		writeString(e.getNameType());
+		writeStrings(e.getTokens());
+		writeMention(e);
+		break;
+	    case ENTITY:
+		writeString(((Entity) a).getSemType());
+		writeRefs(((Entity) a).getMentions());
+		break;
+	    case RELATION:
+		writeString(((RelationMention) a).getSemType());
+		break;
+	    case EVENT:
+		writeString(((EventMention) a).getSemType());
+		break;
+	    }
+	}
+
+	void writeMention (Mention m) throws IOException {
+	    Entity mentionOf = m.getMentionOf();
+	    writeInt((mentionOf == null) ? 0 : mentionOf.id());
+	    writeRefs(m.getDependents());
+	    writeStrings(m.getDepRelations());
+	}
+
+	// a list is written as its length + 1, or 0 if it is null
+	void writeRefs (List<? extends Annotation> refs) throws IOException {
+	    if (refs == null) {
+		writeInt(0);
+		return;
+	    }
+	    writeInt(refs.size() + 1);
+	    for (Annotation a : refs)
+		writeInt((a == null) ? 0 : a.id());
+	}
+
+	void writeStrings (List<String> list) throws IOException {
+	    if (list == null) {
+		writeInt(0);
+		return;
+	    }
+	    writeInt(list.size() + 1);
+	    for (String s : list)
+		writeString(s);
+	}
+
+	// a string is written as 0 if it is null, as n + 1 if it is the n-th
+	// distinct string written, or else as 1 followed by the string itself
+	void writeString (String s) throws IOException {
+	    if (s == null) {
+		writeInt(0);
+		return;
+	    }
+	    Integer n = strings.get(s);
+	    if (n != null) {
+		writeInt(n + 2);
+		return;
+	    }
+	    strings.put(s, strings.size());
+	    writeInt(1);
+	    // not writeUTF, which is limited to 64K bytes
+	    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+	    writeInt(bytes.length);
+	    out.write(bytes);
+	}
+
+	void writeInt (int n) throws IOException {
+	    while ((n & ~0x7f) != 0) {
+		out.writeByte((n & 0x7f) | 0x80);
+		n >>>= 7;
+	    }
+	    out.writeByte(n);
+	}
+    }
+
+    static int kind (Annotation a) throws IOException {
+	Class<?> c = a.getClass();
+	if (c == Token.class)
+	    return TOKEN;
+	else if (c == Mention.class)
+	    return MENTION;
+	else if (c == Enamex.class)
+	    return ENAMEX;
+	else if (c == Entity.class)
+	    return ENTITY;
+	else if (c == Sentence.class)
+	    return SENTENCE;
+	else if (c == RelationMention.class)
+	    return RELATION;
+	else if (c == EventMention.class)
+	    return EVENT;
+	else if (c == Annotation.class)
+	    return ANNOTATION;
+	else
+	    throw new IOException("cannot store annotation " + a.getID() + " of " + c);
+    }
+
+    static class Reader {
+
+	DataInput in;
+
+	List<String> strings = new ArrayList<String>();
+
+	// references to other annotations, resolved once all are read
+	List<Mention> mentions = new ArrayList<Mention>();
+	List<int[]> mentionRefs = new ArrayList<int[]>();
+	List<Entity> entities = new ArrayList<Entity>();
+	List<int[]> entityRefs = new ArrayList<int[]>();
+
+	Reader (DataInput in) {
+	    this.in = in;
+	}
+
+	Annotation readAnnotation () throws IOException {
+	    int kind = in.readByte();
+	    String type = readString();
+	    int start = readInt();
+	    Span span = new Span(start, start + readInt());
+	    String hypo = readString();
+	    Annotation a;
+	    switch (kind) {
+	    case TOKEN:
+		Token t = new Token(span);
+		t.setPos(readString());
+		readMention(t);
+		a = t;
+		break;
+	    case MENTION:
+		Mention m = new Mention(span);
+		readMention(m);
+		a = m;
+		break;
+	    case ENAMEX:
+		Enamex e = new Enamex(span);
+		e.setNameType(readString());
+		e.setTokens(readStrings());
+		readMention(e);
+		a = e;
+		break;
+	    case ENTITY:
+		Entity entity = new Entity(span);
+		entity.setSemType(readString());
+		entities.add(entity);
+		entityRefs.add(readRefs());
+		a = entity;
+		break;
+	    case SENTENCE:
+		a = new Sentence(span);
+		break;
+	    case RELATION:
+		RelationMention rm = new RelationMention(span);
+		rm.setSemType(readString());
+		a = rm;
+		break;
+	    case EVENT:
+		EventMention em = new EventMention(span);
+		em.setSemType(readString());
+		a = em;
+		break;
+	    default:
+		a = new Annotation(type, span);
+	    }
+	    a.type = type;
+	    if (hypo != null)
+		a.setHypo(hypo);
+	    return a;
+	}
+
+	void readMention (Mention m) throws IOException {
+	    int mentionOf = readInt();
+	    int[] dependents = readRefs();
+	    m.setDepRelations(readStrings());
+	    int[] refs;
+	    if (dependents == null) {
+		refs = new int[] {mentionOf};
+	    } else {
+		refs = new int[dependents.length + 1];
+		refs[0] = mentionOf;
+		System.arraycopy(dependents, 0, refs, 1, dependents.length);
+	    }
+	    mentions.add(m);
+	    mentionRefs.add(refs);
+	    if (dependents != null)
+		m.setDependents(new ArrayList<Mention>(dependents.length));
+	}
+
+	int[] readRefs () throws IOException {
+	    int n = readInt();
+	    if (n == 0)
+		return null;
+	    int[] refs = new int[n - 1];
+	    for (int i = 0; i < refs.length; i++)
+		refs[i] = readInt();
+	    return refs;
+	}
+
+	List<String> readStrings () throws IOException {
+	    int n = readInt();
+	    if (n == 0)
+		return null;
+	    List<String> list = new ArrayList<String>(n - 1);
+	    for (int i = 1; i < n; i++)
+		list.add(readString());
+	    return list;
+	}
+
+	/**
+	 *  Fills in the references between the annotations, once they have
+	 *  all been added to 'doc'.
+	 */
+
+	void resolve (Document doc) {
+	    for (int i = 0; i < mentions.size(); i++) {
+		Mention m = mentions.get(i);
+		int[] refs = mentionRefs.get(i);
+		m.setMentionOf((Entity) doc.annotationWithID(refs[0]));
+		for (int j = 1; j < refs.length; j++)
+		    m.getDependents().add((Mention) doc.annotationWithID(refs[j]));
+	    }
+	    for (int i = 0; i < entities.size(); i++) {
+		int[] refs = entityRefs.get(i);
+		if (refs == null)
+		    continue;
+		List<Mention> list = new ArrayList<Mention>(refs.length);
+		for (int ref : refs)
+		    list.add((Mention) doc.annotationWithID(ref));
+		entities.get(i).setMentions(list);
+	    }
+	}
+
+	String readString () throws IOException {
+	    int n = readInt();
+	    if (n == 0)
+		return null;
+	    if (n > 1)
+		return strings.get(n - 2);
+	    byte[] bytes = new byte[readInt()];
+	    in.readFully(bytes);
+	    String s = new String(bytes, StandardCharsets.UTF_8);
+	    strings.add(s);
+	    return s;
+	}
+
+	int readInt () throws IOException {
+	    int n = 0;
+	    for (int shift = 0; ; shift += 7) {
+		byte b = in.readByte();
+		n |= (b & 0x7f) << shift;
+		if ((b & 0x80) == 0)
+		    return n;
+	    }
+	}
+    }
+}
@@ -25,6 +25,13 @@ public class Annotation {
 
 	public Object hypo;
 
+	// the bit of the document's hypothesis 'hypo' (shared by the
+	// hypotheses after the first 63), or 0 if there is none;  set by Document
+	long hypoMask;
+
+	// set by Document.normalizedText
+	Document.NormalizedText normalizedText;
+
 	public Annotation(String tp, Span sp) {
 		type = tp;
 		span = sp;
@@ -63,6 +70,9 @@ public class Annotation {
 
 	public void setHypo (Object s) {
 	    hypo = s;
+	    Document doc = (span == null) ? null : span.document();
+	    if (doc != null)
+		hypoMask = doc.hypothesisMask(s);
 	}
 
 	public Object getHypo () {
@@ -133,7 +143,24 @@ public class Annotation {
 	    return("*error*");
     }
 
-    private String ID;
-    public void setID (String id) {ID = id;}
-    public String getID () {return ID;}
+    // the ID number assigned by Document.addAnnotation;  0 until the
+    // annotation is added to a document
+    int id;
+
+    /**
+     * returns the ID number of the annotation, or 0 if it has not been added
+     * to a document.
+     */
+
+    public int id () {return id;}
+
+    /**
+     * returns the ID of the annotation as a String, "#" followed by its ID
+     * number, or null if it has not been added to a document.  The String is
+     * formed anew on each call, for output.
+     */
+
+    public String getID () {
+	return (id == 0) ? null : "#" + id;
+    }
 }
@@ -0,0 +1,26 @@
+package edu.nyu.jetlite.tipster;
+
+public abstract class Annotator {
+
+    public abstract Document annotate (Document doc, Span span);
+
+    /**
+     *  Returns the kinds of annotation (annotation types, or features such
+     *  as "pos") which must be on the document before this annotator is run.
+     */
+
+    public String[] requires () {
+	return new String[0];
+    }
+
+    /**
+     *  Returns the kinds of annotation which this annotator adds.
+     */
+
+    public String[] produces () {
+	return new String[0];
+    }
+
+}
+
+
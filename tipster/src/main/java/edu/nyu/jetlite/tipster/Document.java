@@ -0,0 +1,1129 @@
+// -*- tab-width: 4 -*-
+//Title:        JET
+//Version:      1.00
+//Copyright:    Copyright (c) 2000
+//Author:       Ralph Grishman
+//Description:  A Java-based Information Extraction Tool
+
+package edu.nyu.jetlite.tipster;
+
+import edu.nyu.jetlite.Token;
+import java.io.*;
+import java.util.*;
+
+/**
+ * Document provides a container for the text of a document and the annotations
+ * on a document.
+ */
+
+public class Document implements Serializable {
+	// the text is held in chars[0] ... chars[length-1]; it is not
+	// synchronized, so charAt costs no more than an array reference
+	private char[] chars;
+
+	private int length;
+
+	// the text as a String, made the first time text() is called and
+	// discarded when the text changes
+	private transient String textString;
+
+	// incremented whenever the text changes
+	private int textVersion;
+
+	// annotationsByStart is a mapping from starting positions to vectors of
+	// annotations
+	private Hashtable annotationsByStart;
+
+	// annotationsByEnd is a mapping from starting positions to vectors of
+	// annotations
+	private Hashtable annotationsByEnd;
+
+	// annotationsByType is a mapping from types to vectors of annotations
+	private Hashtable annotationsByType;
+
+	// annotationsByID holds each annotation at the index of its ID number
+	private Annotation[] annotationsByID = new Annotation[16];
+
+	private int nextAnnotationID;
+
+	private Object currentHypothesis = null;
+
+	private Set activeHypotheses = null;
+
+	// the hypotheses of the annotations on the document;  the i-th has
+	// mask bit i
+	private List<Object> hypotheses = new ArrayList<Object>();
+
+	// the mask bit shared by all hypotheses after the first 63;  whether
+	// these are active is found from activeHypotheses
+	private static final long OTHER_HYPOTHESES = 1L << 63;
+
+	// the mask bits of the active hypotheses (all bits, if all are active)
+	private long activeMask = -1L;
+
+	/**
+	 * Creates a new document with no text or annotations.
+	 */
+
+	public Document() {
+		chars = new char[16];
+		annotationsByStart = new Hashtable();
+		annotationsByEnd = new Hashtable();
+		annotationsByType = new Hashtable();
+		nextAnnotationID = 0;
+	}
+
+	/**
+	 * Creates a new document with text <I>stg</I> and no annotations.
+	 */
+
+	public Document(String stg) {
+		setText(stg);
+		annotationsByStart = new Hashtable();
+		annotationsByEnd = new Hashtable();
+		annotationsByType = new Hashtable();
+		nextAnnotationID = 0;
+	}
+
+	/**
+	 * Creates a new document whose text is the contents of the file.
+	 */
+
+	public Document (File file) throws IOException {
+	    BufferedReader reader = new BufferedReader (new FileReader (file));
+	    StringBuilder sb = new StringBuilder();
+	    String line;
+	    while ((line = reader.readLine()) != null) {
+		sb.append(line);
+		sb.append("\n");
+	    }
+	    reader.close();
+	    setText(sb.toString());
+	    annotationsByStart = new Hashtable();
+	    annotationsByEnd = new Hashtable();
+	    annotationsByType = new Hashtable();
+	    nextAnnotationID = 0;
+	}
+
+	/**
+	 * Deletes the text and all annotations on a document, creating an empty
+	 * document.
+	 */
+
+	public void clear() {
+		length = 0;
+		textChanged();
+		annotationsByStart.clear();
+		annotationsByEnd.clear();
+		annotationsByType.clear();
+		annotationsByID = new Annotation[16];
+		nextAnnotationID = 0;
+	}
+
+	/**
+	 * Sets the text of a document. <B>Warning</B>: this should not be done if
+	 * the document has annotations.
+	 */
+
+	public void setText(String stg) {
+		chars = stg.toCharArray();
+		length = chars.length;
+		textChanged();
+		textString = stg;
+	}
+
+	/**
+	 * Returns the entire text of the document.  The String is made once and
+	 * reused until the text is changed.
+	 */
+
+	public String text() {
+		if (textString == null)
+			textString = new String(chars, 0, length);
+		return textString;
+	}
+
+	/**
+	 *  Returns a printable version of a document including all annotations.
+	 */
+
+	public String toString() {
+	    StringBuffer sb = new StringBuffer(length + 1);
+	    sb.append(chars, 0, length);
+	    sb.append("\n");
+	    String[] types = getAnnotationTypes();
+	    for (int i = 0; i < types.length; i++) {
+		for (Annotation a : annotationList(types[i])) {
+		    sb.append(a);
+		    sb.append("\n");
+		}
+	    }
+	    return sb.toString();
+	}
+
+	/**
+	 * Returns the text subsumed by span <I>s</I>.
+	 */
+
+	public String text(Span s) {
+		checkRange(s.start(), s.end());
+		if (textString != null)
+			return textString.substring(s.start(), s.end());
+		return new String(chars, s.start(), s.end() - s.start());
+	}
+
+	/**
+	 * Returns the text subsumed by annotation <I>ann</I>.
+	 */
+
+	public String text(Annotation ann) {
+		return text(ann.span());
+	}
+
+	/**
+	 * Returns the text subsumed by span <I>s</I>, with leading and trailing
+	 * whitespace removed, and other whitespace sequences replaced by a single
+	 * blank.
+	 */
+
+	public String normalizedText(Span s) {
+		checkRange(s.start(), s.end());
+		return normalize(chars, s.start(), s.end());
+	}
+
+	/**
+	 * Returns a view of the text subsumed by span <I>s</I>.  No characters
+	 * are copied:  the view reads the text of the document, and so reflects
+	 * any later changes to it.
+	 */
+
+	public CharSequence textView(Span s) {
+		return textView(s.start(), s.end());
+	}
+
+	/**
+	 * Returns a view of the text from offset <I>start</I> up to (but not
+	 * including) offset <I>end</I>.
+	 */
+
+	public CharSequence textView(int start, int end) {
+		checkRange(start, end);
+		return new TextView(start, end);
+	}
+
+	/**
+	 *  A CharSequence reading characters start ... end-1 of the document.
+	 */
+
+	private class TextView implements CharSequence {
+	    int start, end;
+
+	    TextView (int start, int end) {
+		this.start = start;
+		this.end = end;
+	    }
+
+	    public int length () {
+		return end - start;
+	    }
+
+	    public char charAt (int i) {
+		if (i < 0 || i >= end - start)
+		    throw new StringIndexOutOfBoundsException(i);
+		return chars[start + i];
+	    }
+
+	    public CharSequence subSequence (int from, int to) {
+		if (from < 0 || to > end - start || from > to)
+		    throw new StringIndexOutOfBoundsException("begin " + from + ", end " + to);
+		return new TextView(start + from, start + to);
+	    }
+
+	    public String toString () {
+		return new String(chars, start, end - start);
+	    }
+	}
+
+	private void checkRange (int start, int end) {
+		if (start < 0 || end > length || start > end)
+			throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end
+					+ ", length " + length);
+	}
+
+	/**
+	 *  replaces whitespace between tokens with a single blank.
+	 */
+
+	public static String normalizeName (String name) {
+	    return normalize(name.toCharArray(), 0, name.length());
+	}
+
+	/**
+	 *  Returns characters start ... end-1 of 'c', with whitespace (the
+	 *  delimiters of a StringTokenizer) removed at either end and reduced to
+	 *  a single blank between tokens.
+	 */
+
+	private static String normalize (char[] c, int start, int end) {
+	    while (start < end && isDelimiter(c[start]))
+		start++;
+	    while (end > start && isDelimiter(c[end - 1]))
+		end--;
+	    // most names have no whitespace, or just single blanks
+	    boolean plain = true;
+	    for (int i = start; i < end; i++)
+		if (isDelimiter(c[i]) && (c[i] != ' ' || isDelimiter(c[i - 1]))) {
+		    plain = false;
+		    break;
+		}
+	    if (plain)
+		return new String(c, start, end - start);
+	    StringBuilder result = new StringBuilder(end - start);
+	    for (int i = start; i < end; i++) {
+		if ( !isDelimiter(c[i]))
+		    result.append(c[i]);
+		else if ( !isDelimiter(c[i - 1]))
+		    result.append(' ');
+	    }
+	    return result.toString();
+	}
+
+	private static boolean isDelimiter (char c) {
+	    return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+	}
+
+	/**
+	 * Returns the text subsumed by annotation <I>ann</I>, with leading and
+	 * trailing whitespace removed, and other whitespace sequences replaced by a
+	 * single blank.  The result is kept with the annotation, and computed
+	 * again only if the span of the annotation or the text changes.
+	 */
+
+	public String normalizedText(Annotation ann) {
+		Span s = ann.span();
+		NormalizedText n = ann.normalizedText;
+		if (n != null && n.document == this && n.version == textVersion
+				&& n.start == s.start() && n.end == s.end())
+			return n.text;
+		String text = normalizedText(s);
+		ann.normalizedText = new NormalizedText(this, textVersion, s.start(), s.end(), text);
+		return text;
+	}
+
+	/**
+	 *  The normalized text of an annotation, with the document, text version
+	 *  and span for which it was computed.
+	 */
+
+	static class NormalizedText {
+		final Document document;
+		final int version;
+		final int start, end;
+		final String text;
+
+		NormalizedText(Document document, int version, int start, int end, String text) {
+			this.document = document;
+			this.version = version;
+			this.start = start;
+			this.end = end;
+			this.text = text;
+		}
+	}
+
+	/**
+	 * Adds the text <I>stg</I> to the end of the document.
+	 */
+
+	public Document append(String stg) {
+		ensureCapacity(length + stg.length());
+		stg.getChars(0, stg.length(), chars, length);
+		length += stg.length();
+		textChanged();
+		return this;
+	}
+
+	/**
+	 * Adds the char <I>c</I> to the end of the document.
+	 */
+
+	public Document append(char c) {
+		ensureCapacity(length + 1);
+		chars[length++] = c;
+		textChanged();
+		return this;
+	}
+
+	private void textChanged() {
+		textString = null;
+		textVersion++;
+	}
+
+	private void ensureCapacity(int n) {
+		if (n > chars.length)
+			chars = Arrays.copyOf(chars, Math.max(n, 2 * chars.length + 2));
+	}
+
+	/**
+	 * Returns the length of the document (in characters).
+	 */
+
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Returns a Span covering the entire document.
+	 */
+
+	public Span fullSpan() {
+		return new Span(0, length);
+	}
+
+	/**
+	 * Returns the character at position <I>posn</I> in the document.
+	 */
+
+	public char charAt(int posn) {
+		if (posn < 0 || posn >= length)
+			throw new StringIndexOutOfBoundsException(posn);
+		return chars[posn];
+	}
+
+	/**
+	 * Sets the character at position <I>posn</I> to <I>c</I>.
+	 */
+
+	public void setCharAt(int posn, char c) {
+		if (posn < 0 || posn >= length)
+			throw new StringIndexOutOfBoundsException(posn);
+		chars[posn] = c;
+		textChanged();
+	}
+
+	/**
+	 * Removes all annotations on the document.
+	 */
+
+	public void clearAnnotations() {
+		annotationsByStart.clear();
+		annotationsByEnd.clear();
+		annotationsByType.clear();
+		annotationsByID = new Annotation[16];
+	}
+
+	/**
+	 * Adds an annotation to the document.  Annotators running concurrently on
+	 * the same document may add annotations at the same time.
+	 */
+
+	public synchronized Annotation addAnnotation(Annotation ann) {
+		// index by starting and ending position
+		Integer start = new Integer(ann.span.start);
+		if (!annotationsByStart.containsKey(start))
+			annotationsByStart.put(start, new Vector());
+		Vector vs = (Vector) annotationsByStart.get(start);
+		vs.add(ann);
+		Integer end = new Integer(ann.span.end);
+		if (!annotationsByEnd.containsKey(end))
+			annotationsByEnd.put(end, new Vector());
+		Vector ve = (Vector) annotationsByEnd.get(end);
+		ve.add(ann);
+		// index by type
+		String type = ann.type;
+		if (!annotationsByType.containsKey(type))
+			annotationsByType.put(type, new Vector());
+		Vector vt = (Vector) annotationsByType.get(type);
+		vt.add(ann);
+		// index by ID
+		reserveIDs(1);
+		nextAnnotationID++;
+		ann.id = nextAnnotationID;
+		annotationsByID[nextAnnotationID] = ann;
+		// if there is an activeHypothesis, add it to annotation
+		if (currentHypothesis != null)
+			ann.setHypo(currentHypothesis);
+		ann.hypoMask = hypothesisMask(ann.getHypo());
+
+		// set Document pointer within annotation
+		Span s = ann.span();
+		s.setDocument(this);
+
+		return ann;
+	}
+
+	/**
+	 * Adds a batch of annotations, all of the same type and in order of
+	 * their starting positions (such as the tokens of a document), with the
+	 * same effect as adding them one by one with addAnnotation.  The indexes
+	 * are enlarged once for the whole batch.
+	 */
+
+	public synchronized void addAnnotations(List<? extends Annotation> batch) {
+		int n = batch.size();
+		if (n == 0)
+			return;
+		String type = batch.get(0).type;
+		for (int i = 1; i < n; i++) {
+			Annotation ann = batch.get(i);
+			if (!ann.type.equals(type))
+				throw new IllegalArgumentException("Batch mixes annotations of type "
+								   + type + " and " + ann.type);
+			if (ann.span.start < batch.get(i - 1).span.start)
+				throw new IllegalArgumentException("Batch of " + type
+								   + " annotations is not in order");
+		}
+		Vector vt = (Vector) annotationsByType.get(type);
+		if (vt == null) {
+			vt = new Vector(n);
+			annotationsByType.put(type, vt);
+		} else {
+			vt.ensureCapacity(vt.size() + n);
+		}
+		reserveIDs(n);
+		long mask = hypothesisMask(currentHypothesis);
+		// annotations in order of their starts are often adjacent, so
+		// that one ends where the next starts
+		Vector vs = null;
+		Vector ve = null;
+		int lastStart = -1;
+		int lastEnd = -1;
+		for (int i = 0; i < n; i++) {
+			Annotation ann = batch.get(i);
+			Span span = ann.span;
+			if (span.start != lastStart) {
+				vs = indexVector(annotationsByStart, span.start);
+				lastStart = span.start;
+			}
+			vs.add(ann);
+			if (span.end != lastEnd) {
+				ve = indexVector(annotationsByEnd, span.end);
+				lastEnd = span.end;
+			}
+			ve.add(ann);
+			vt.add(ann);
+			nextAnnotationID++;
+			ann.id = nextAnnotationID;
+			annotationsByID[nextAnnotationID] = ann;
+			if (currentHypothesis != null) {
+				ann.hypo = currentHypothesis;
+				ann.hypoMask = mask;
+			} else {
+				ann.hypoMask = hypothesisMask(ann.hypo);
+			}
+			span.setDocument(this);
+		}
+	}
+
+	/**
+	 * Makes room in annotationsByID for <I>n</I> more annotations.
+	 */
+
+	private void reserveIDs(int n) {
+		if (annotationsByID.length <= nextAnnotationID + n)
+			annotationsByID = Arrays.copyOf(annotationsByID,
+							Math.max(nextAnnotationID + n + 1, annotationsByID.length * 2));
+	}
+
+	/**
+	 * Returns the vector of <I>index</I> for position <I>posn</I>, adding
+	 * an empty one if there is none.
+	 */
+
+	private static Vector indexVector(Hashtable index, int posn) {
+		Integer key = Integer.valueOf(posn);
+		Vector v = (Vector) index.get(key);
+		if (v == null) {
+			v = new Vector();
+			index.put(key, v);
+		}
+		return v;
+	}
+
+	/**
+	 * Removes annotation <I>ann</I> from the document. Does nothing if ann is
+	 * not an annotation on the document.
+	 */
+
+	public synchronized void removeAnnotation(Annotation ann) {
+		Integer start = new Integer(ann.span.start);
+		Vector vs = (Vector) annotationsByStart.get(start);
+		if (vs != null)
+			vs.remove(ann);
+
+		Integer end = new Integer(ann.span.end);
+		Vector ve = (Vector) annotationsByEnd.get(end);
+		if (ve != null)
+			ve.remove(ann);
+
+		String type = ann.type;
+		Vector vt = (Vector) annotationsByType.get(type);
+		if (vt != null)
+			vt.remove(ann);
+		
+		if (ann.id < annotationsByID.length && annotationsByID[ann.id] == ann)
+			annotationsByID[ann.id] = null;
+	}
+
+	/**
+	 * removes all annotations of type 'type' from the document.
+	 */
+
+	public void removeAnnotationsOfType(String type) {
+		Vector v = annotationsOfType(type);
+		if (v == null)
+			return;
+		for (int i = 0; i < v.size(); i++) {
+			Annotation a = (Annotation) v.get(i);
+			removeAnnotation(a);
+		}
+	}
+
+	/**
+	 * Returns the annotations beginning at character position <I>start</I>.
+	 * Returns <B>null</B> if there are no annotations starting at this
+	 * position.
+	 */
+
+	public Vector<Annotation> annotationsAt(int start) {
+		Integer s = new Integer(start);
+		Vector v = (Vector) annotationsByStart.get(s);
+		if (v == null)
+			return null;
+		return activeAnnotations(v);
+	}
+
+	/**
+	 * Returns the annotations of type <I>type</I> beginning at character
+	 * position <I>start</I>. If there are no annotations of this type, returns
+	 * <CODE>null</CODE>.
+	 */
+
+	public Vector<Annotation> annotationsAt(int start, String type) {
+		Vector annAt = (Vector) annotationsByStart.get(start);
+		if (annAt == null)
+			return null;
+		Vector result = null;
+		for (int i = 0; i < annAt.size(); i++) {
+			Annotation ann = (Annotation) annAt.get(i);
+			if (ann.type().equals(type) && isActive(ann)) {
+				if (result == null)
+					result = new Vector();
+				result.addElement(ann);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the annotations which begin at character position <I>start</I>
+	 * and whose type is in array <I>types</I>. If there are no such annotations, 
+	 * returns <CODE>null</CODE>.
+	 */
+
+	public Vector<Annotation> annotationsAt(int start, String[] types) {
+		Vector annAt = (Vector) annotationsByStart.get(start);
+		if (annAt == null)
+			return null;
+		Vector result = null;
+		for (int i = 0; i < annAt.size(); i++) {
+			Annotation ann = (Annotation) annAt.get(i);
+			if (!isActive(ann))
+				continue;
+			for (String type : types) {
+				if (ann.type().equals(type)) {
+					if (result == null)
+						result = new Vector();
+					result.addElement(ann);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the annotations ending at character position <I>ending</I>.
+	 * Returns <B>null</B> if there are no annotations ending at this position.
+	 */
+
+	public Vector<Annotation> annotationsEndingAt(int end) {
+		Integer e = new Integer(end);
+		Vector v = (Vector) annotationsByEnd.get(e);
+		if (v == null)
+			return null;
+		return activeAnnotations(v);
+	}
+
+	/**
+	 * Returns the annotations of type <I>type</I> ending at character position
+	 * <I>end</I>. If there are no annotations of this type, returns <CODE>null</CODE>.
+	 */
+
+	public Vector<Annotation> annotationsEndingAt(int end, String type) {
+		Vector annAt = (Vector) annotationsByEnd.get(end);
+		if (annAt == null)
+			return null;
+		Vector result = null;
+		for (int i = 0; i < annAt.size(); i++) {
+			Annotation ann = (Annotation) annAt.get(i);
+			if (ann.type().equals(type) && isActive(ann)) {
+				if (result == null)
+					result = new Vector();
+				result.addElement(ann);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the token annotation starting at position <I>start</I>, or
+	 * <B>null</B> if no token starts at this position.
+	 */
+
+	public Token tokenAt(int start) {
+		Vector annAt = (Vector) annotationsByStart.get(start);
+		if (annAt == null)
+			return null;
+		for (int i = 0; i < annAt.size(); i++) {
+			Annotation ann = (Annotation) annAt.get(i);
+			if (ann instanceof Token && isActive(ann))
+				return (Token) ann;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the token annotation ending at position <I>end</I>, or <B>null</B>
+	 * if no token starts at this position.
+	 */
+
+	public Token tokenEndingAt(int end) {
+		Vector annAt = (Vector) annotationsByEnd.get(end);
+		if (annAt == null)
+			return null;
+		for (int i = 0; i < annAt.size(); i++) {
+			Annotation ann = (Annotation) annAt.get(i);
+			if (ann instanceof Token && isActive(ann))
+				return (Token) ann;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns a vector of all annotations of type <I>type</I>. Returns <B>null</B>
+	 * if there are no annotations of this type.
+	 */
+
+	public Vector<Annotation> annotationsOfType(String type) {
+		Vector v = (Vector) annotationsByType.get(type);
+		return activeAnnotations(v);
+	}
+
+	/**
+	 * Returns the annotations of type <I>type</I>, like annotationsOfType,
+	 * but without copying them unless some hypotheses are inactive.  Returns
+	 * an empty list if there are none.  The list must not be modified.
+	 */
+
+	public List<Annotation> annotationList(String type) {
+		Vector v = (Vector) annotationsByType.get(type);
+		if (v == null)
+			return Collections.emptyList();
+		if (activeMask == -1L)
+			return Collections.unmodifiableList(v);
+		return activeAnnotations(v);
+	}
+
+	/**
+	 * Returns all the annotations of type <I>type</I>, whatever their
+	 * hypotheses (see setActiveHypotheses), or an empty list if there are
+	 * none.  The list must not be modified.
+	 */
+
+	public List<Annotation> allAnnotationsOfType(String type) {
+		Vector v = (Vector) annotationsByType.get(type);
+		if (v == null)
+			return Collections.emptyList();
+		return Collections.unmodifiableList(v);
+	}
+
+	/**
+	 * Returns a vector of all annotations of type <I>type</I> whose span is
+	 * contained within <I>span</I>. If <I>span</I> is <CODE>null</CODE>,
+	 * all annotations of that type are returned. Returns <CODE>null</CODE> if
+	 * there are no annotations starting at this position.
+	 */
+
+	public Vector<Annotation> annotationsOfType(String type, Span span) {
+		if (span == null)
+			return annotationsOfType(type);
+		Vector v = (Vector) annotationsByType.get(type);
+		if (v == null)
+			return null;
+		Vector result = new Vector();
+		for (int i = 0; i < v.size(); i++) {
+			Annotation a = (Annotation) v.get(i);
+			if (a.span().within(span) && isActive(a))
+				result.add(a);
+		}
+		if (result.size() > 0)
+			return result;
+		else
+			return null;
+	}
+
+	/**
+	 * sets the value of <code>currentHypothesis</code>. If
+	 * <code>currentHypothesis</code> is non-null, a <b>hypo</b> feature with
+	 * this value is added to every new annotation on this document.
+	 */
+
+	public void setCurrentHypothesis(Object hypoId) {
+		currentHypothesis = hypoId;
+	}
+
+	/**
+	 * sets the value of <code>activeHypotheses</code>. If
+	 * <code>activeHypotheses</code> is non-null, methods which retrieve
+	 * annotations on a document only return those annotations whose <b>hypo</b>
+	 * value is in <code>activeHypotheses</code>.
+	 */
+
+	public synchronized void setActiveHypotheses(Set hypoIdSet) {
+		activeHypotheses = hypoIdSet;
+		long mask = -1L;
+		if (hypoIdSet != null) {
+			// only hypotheses already on the document have bits;  others
+			// are added to the mask when they get one
+			mask = 0;
+			for (int bit = 0; bit < hypotheses.size(); bit++)
+				if (hypoIdSet.contains(hypotheses.get(bit)))
+					mask |= 1L << bit;
+		}
+		activeMask = mask;
+	}
+
+	/**
+	 * Returns the mask bit of hypothesis <I>hypoId</I>, assigning it the
+	 * next free bit if it is new to this document, or 0 if <I>hypoId</I>
+	 * is null.  The first 63 hypotheses have a bit of their own;  any
+	 * others share bit OTHER_HYPOTHESES.
+	 */
+
+	synchronized long hypothesisMask(Object hypoId) {
+		if (hypoId == null)
+			return 0;
+		int bit = hypotheses.indexOf(hypoId);
+		if (bit < 0) {
+			if (hypotheses.size() == 63)
+				return OTHER_HYPOTHESES;
+			bit = hypotheses.size();
+			hypotheses.add(hypoId);
+			if (activeHypotheses != null && activeHypotheses.contains(hypoId))
+				activeMask |= 1L << bit;
+		}
+		return 1L << bit;
+	}
+
+	/**
+	 * Returns true if annotation <I>a</I> has no hypothesis, or its
+	 * hypothesis is active.
+	 */
+
+	private boolean isActive(Annotation a) {
+		if (a.hypoMask == 0 || (a.hypoMask & activeMask) != 0)
+			return true;
+		return a.hypoMask == OTHER_HYPOTHESES && activeHypotheses.contains(a.hypo);
+	}
+
+	/**
+	 * if <code>activeHypotheses</code> is non-null, return those annotations
+	 * in <code>anns</code> whose <b>hypo</b> value is in
+	 * <code>activeHypotheses</code>;  otherwise, a copy of <code>anns</code>.
+	 */
+
+	private Vector<Annotation> activeAnnotations(Vector anns) {
+		if (anns == null)
+			return null;
+		if (activeMask == -1L)
+			return (Vector) anns.clone();
+		Vector newanns = new Vector(anns.size());
+		for (int i = 0; i < anns.size(); i++) {
+			Annotation a = (Annotation) anns.get(i);
+			if (isActive(a))
+				newanns.add(a);
+		}
+		return newanns;
+	}
+
+	/**
+	 * Returns a vector of all annotation types. Returns <B>null</B> if there
+	 * are no annotation types. <B>Warning:</B> do not modify the returned
+	 * vector. Doing so can affect the annotations stored on a document.
+	 */
+
+	public String[] getAnnotationTypes() {
+		return (String[]) annotationsByType.keySet().toArray(new String[0]);
+	}
+
+	/**
+	 * annotateWithTag annotates document with <CODE>Span</CODE> of text
+	 * between <I>&lt;tag&gt;</I> and <I>&lt;/tag&gt;</I>. Sets type of
+	 * annotation to <I>tag</I> name.
+	 *
+	 * @param tag
+	 *            name of a tag to find a <CODE>Span</CODE> between tags
+	 * @param start
+	 *            where to start searching for a <I>tag</I>
+	 * @param end
+	 *            where to end searching for a <I>tag</I>
+	 */
+
+	public void annotateWithTag(String tag, int start, int end) {
+	    annotateWithTags(new String[] {tag}, start, end);
+	}
+
+	/**
+	 * annotateWithTags annotates document, in a single pass over the text from
+	 * <I>start</I> to <I>end</I>, with the <CODE>Span</CODE> of text between
+	 * <I>&lt;tag&gt;</I> and <I>&lt;/tag&gt;</I> for every tag in
+	 * <I>tags</I>.  Tag names are compared ignoring case, and attributes of
+	 * an open tag are ignored.  Regions may be nested:  a close tag ends the
+	 * innermost open region with the same tag, discarding any regions opened
+	 * within it which are still open.  As before, a region ends one character
+	 * before its close tag (normally at the end of the preceding line).
+	 *
+	 * @param tags
+	 *            names of the tags to find
+	 * @param start
+	 *            where to start searching for the <I>tags</I>
+	 * @param end
+	 *            where to end searching for the <I>tags</I>
+	 */
+
+	public void annotateWithTags(String[] tags, int start, int end) {
+	    // the regions now open:  the index in tags of each, and the offset
+	    // following its open tag
+	    int[] openTag = new int[8];
+	    int[] openStart = new int[8];
+	    int depth = 0;
+	    int limit = Math.min(end, length);
+
+	    for (int i = start; i < limit; ++i) {
+		if (chars[i] != '<')
+		    continue;
+		int nameStart = i + 1;
+		boolean close = nameStart < limit && chars[nameStart] == '/';
+		if (close)
+		    nameStart++;
+		int nameEnd = nameStart;
+		while (nameEnd < limit && chars[nameEnd] != '>' && chars[nameEnd] != '<'
+		       && !Character.isWhitespace(chars[nameEnd]))
+		    nameEnd++;
+		int tagClose = nameEnd;
+		while (tagClose < limit && chars[tagClose] != '>' && chars[tagClose] != '<')
+		    tagClose++;
+		// not a complete tag
+		if (tagClose == limit || chars[tagClose] == '<')
+		    continue;
+		int t = 0;
+		while (t < tags.length && !regionMatchesIgnoreCase(nameStart, nameEnd, tags[t]))
+		    t++;
+		if (t < tags.length && !close) {
+		    if (depth == openTag.length) {
+			openTag = Arrays.copyOf(openTag, 2 * depth);
+			openStart = Arrays.copyOf(openStart, 2 * depth);
+		    }
+		    openTag[depth] = t;
+		    openStart[depth] = tagClose + 1;
+		    depth++;
+		} else if (t < tags.length) {
+		    int k = depth - 1;
+		    while (k >= 0 && openTag[k] != t)
+			k--;
+		    if (k >= 0) {
+			int tagEnd = i - 1;
+			if (openStart[k] < tagEnd)
+			    addAnnotation(new Annotation(tags[t], new Span(openStart[k], tagEnd)));
+			depth = k;
+		    }
+		}
+		i = tagClose;
+	    }
+	}
+
+	/**
+	 *  Returns true if characters start ... end-1 of the text equal 's',
+	 *  ignoring case.
+	 */
+
+	private boolean regionMatchesIgnoreCase (int start, int end, String s) {
+	    if (end - start != s.length())
+		return false;
+	    for (int i = 0; i < s.length(); i++) {
+		char c = chars[start + i], d = s.charAt(i);
+		if (c != d && Character.toUpperCase(c) != Character.toUpperCase(d)
+			   && Character.toLowerCase(c) != Character.toLowerCase(d))
+		    return false;
+	    }
+	    return true;
+	}
+
+	/**
+	 * annotateWithTag annotates document with <CODE>Span</CODE> of text
+	 * between <I>&lt;tag&gt;</I> and <I>&lt;/tag&gt;</I>. Sets type of
+	 * annotation to <I>tag</I> name.
+	 *
+	 * @param tag
+	 *            name of a tag to find a <CODE>Span</CODE> between tags
+	 */
+
+	public void annotateWithTag(String tag) {
+		annotateWithTag(tag, 0, length());
+	}
+
+	/**
+	 * returns a unique integer for this Document, to be used in assigning an
+	 * 'id' feature to an Annotation on this Document.
+	 */
+
+	public int getNextAnnotationID() {
+		return nextAnnotationID++;
+	}
+
+	/**
+	 * sets the number from which the ID of the next annotation added to this
+	 * Document is formed ("#" + (n+1)), so that a document read back from
+	 * storage keeps its original annotation IDs.
+	 */
+
+	public void setNextAnnotationID(int n) {
+		nextAnnotationID = n;
+	}
+
+	/**
+	 * extend the endpoint of Annotation ann to include the following whitespace
+	 * past the current endpoint. However, do not extent the endpoint past the
+	 * current starting point of any other annotation in order to avoid
+	 * situations where annotations overlap but are not nested.
+	 */
+
+	public void stretch(Annotation ann) {
+		removeAnnotation(ann);
+		Span s = ann.span();
+		int posn = s.end();
+		while (posn < length && annotationsByStart.get(posn) == null
+				&& Character.isWhitespace(charAt(posn)))
+			posn++;
+		s.setEnd(posn);
+		addAnnotation(ann);
+	}
+
+	/**
+	 * extend the endpoint, using {@link #stretch(Annotation) stretch}, of all
+	 * annotations of type <CODE>type</CODE>.
+	 */
+
+	public void stretch(String type) {
+		Vector v = annotationsOfType(type);
+		if (v == null)
+			return;
+		for (int i = 0; i < v.size(); i++) {
+			Annotation ann = (Annotation) v.get(i);
+			stretch(ann);
+		}
+	}
+
+	/**
+	 * extend the endpoint, using {@link #stretch(Annotation) stretch}, of all
+	 * annotations in the document.
+	 */
+
+	public void stretchAll() {
+		String[] types = getAnnotationTypes();
+		for (int i = 0; i < types.length; i++)
+			stretch(types[i]);
+	}
+
+	/**
+	 * shrink the endpoint of Annotation <CODE>code</CODE> to remove any
+	 * trailing whitespace.
+	 */
+
+	public void shrink(Annotation ann) {
+		removeAnnotation(ann);
+		Span s = ann.span();
+		int start = s.start();
+		int posn = s.end();
+		while (posn > start && Character.isWhitespace(charAt(posn - 1)))
+			posn--;
+		s.setEnd(posn);
+		addAnnotation(ann);
+	}
+
+	/**
+	 * shrink the endpoint, using {@link #shrink(Annotation) shrink}, of all
+	 * annotations of type <CODE>type</CODE>, to eliminate trailing
+	 * whitespace.
+	 */
+
+	public void shrink(String type) {
+		Vector v = annotationsOfType(type);
+		if (v == null)
+			return;
+		for (int i = 0; i < v.size(); i++) {
+			Annotation ann = (Annotation) v.get(i);
+			shrink(ann);
+		}
+	}
+
+	/**
+	 * shrink the endpoint, using {@link #shrink(Annotation) shrink}, of all
+	 * annotations in the document.
+	 */
+
+	public void shrinkAll() {
+		String[] types = getAnnotationTypes();
+		for (int i = 0; i < types.length; i++)
+			shrink(types[i]);
+	}
+
+	/**
+	 *  Advance a character pointer past any whitespace.
+	 *  
+	 *  @param  posn  A character offset within the document text.
+	 *  @param  end   An upper bound on the final value of the offset.
+	 *
+	 *  @return  The offset of the first non-whitespace character
+	 *          following posn.
+	 */
+	
+	public int skipWhitespace (int posn, int end) {
+	    while (posn < end && posn < length && Character.isWhitespace(chars[posn]))
+		posn++;
+	    return posn;
+	}
+
+       /**
+        *  Returns the annotation with a given ID ("#" followed by its ID
+        *  number), or null if there is none.
+	*/
+	public Annotation annotationWithID (String id) {
+	    if (!id.startsWith("#"))
+		return null;
+	    try {
+		return annotationWithID(Integer.parseInt(id.substring(1)));
+	    } catch (NumberFormatException e) {
+		return null;
+	    }
+	}
+
+	/**
+	 *  Returns the annotation with ID number <I>id</I>, or null if there
+	 *  is none.
+	 */
+
+	public Annotation annotationWithID (int id) {
+	    Annotation[] byID = annotationsByID;
+	    return (id > 0 && id < byID.length) ? byID[id] : null;
+	}
+}
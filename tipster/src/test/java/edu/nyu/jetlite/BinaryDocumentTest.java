@@ -0,0 +1,181 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import static org.junit.Assert.*;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+import org.junit.Test;
+
+/**
+ *  Tests that a Document written by BinaryDocument is read back with the
+ *  same text, annotations and references between annotations.
+ */
+
+public class BinaryDocumentTest {
+
+    static final String TEXT = "John Smith, a noted lawyer, died.  He lived in Zürich.";
+
+    /**
+     *  Returns a document with annotations of each kind BinaryDocument stores.
+     */
+
+    static Document annotatedDocument () {
+	Document doc = new Document(TEXT);
+	doc.addAnnotation(new Sentence(new Span(0, 34)));
+	doc.addAnnotation(new Sentence(new Span(35, TEXT.length())));
+	List<Token> tokens = new ArrayList<Token>();
+	int posn = 0;
+	for (String word : TEXT.split("(?<=[ ,.])|(?=[,.])")) {
+	    String w = word.trim();
+	    if (!w.isEmpty()) {
+		Token t = new Token(new Span(posn, posn + w.length()));
+		t.setPos(w.equals(",") || w.equals(".") ? w : "NN");
+		doc.addAnnotation(t);
+		tokens.add(t);
+	    }
+	    posn += word.length();
+	}
+	Enamex john = new Enamex(new Span(0, 10));
+	john.setNameType("person");
+	john.setTokens(Arrays.asList("John", "Smith"));
+	doc.addAnnotation(john);
+	Mention he = new Mention(new Span(35, 37));
+	he.setDependents(Arrays.asList((Mention) tokens.get(0)));
+	he.setDepRelations(Arrays.asList("nsubj"));
+	doc.addAnnotation(he);
+	Entity entity = new Entity(john.span());
+	entity.setMentions(Arrays.asList(john, he));
+	entity.setSemType("PERSON");
+	john.setMentionOf(entity);
+	he.setMentionOf(entity);
+	doc.addAnnotation(entity);
+	// an annotation of another hypothesis, which is not active
+	Annotation alternative = new Annotation("constit", new Span(13, 26));
+	doc.addAnnotation(alternative);
+	alternative.setHypo("second");
+	doc.setActiveHypotheses(new HashSet<Object>(Arrays.asList((Object) "first")));
+	return doc;
+    }
+
+    static byte[] write (Document doc, Collection<String> stages) throws IOException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	DataOutputStream out = new DataOutputStream(bytes);
+	BinaryDocument.write(doc, stages, out);
+	out.close();
+	return bytes.toByteArray();
+    }
+
+    static Document read (byte[] bytes, Collection<String> stages) throws IOException {
+	return BinaryDocument.read(new DataInputStream(new ByteArrayInputStream(bytes)), stages);
+    }
+
+    @Test
+    public void roundTrip () throws IOException {
+	Document doc = annotatedDocument();
+	List<String> stages = Arrays.asList("token", "sentence", "coref");
+	List<String> readStages = new ArrayList<String>();
+	Document copy = read(write(doc, stages), readStages);
+	assertEquals(TEXT, copy.text());
+	assertEquals(stages, readStages);
+	Set<String> types = new HashSet<String>(Arrays.asList(doc.getAnnotationTypes()));
+	assertEquals(types, new HashSet<String>(Arrays.asList(copy.getAnnotationTypes())));
+	for (String type : types) {
+	    List<Annotation> expected = doc.allAnnotationsOfType(type);
+	    List<Annotation> found = copy.allAnnotationsOfType(type);
+	    assertEquals(type, expected.size(), found.size());
+	    for (int i = 0; i < expected.size(); i++)
+		assertSameAnnotation(expected.get(i), found.get(i));
+	}
+	// the annotations of an inactive hypothesis are kept, with their hypothesis
+	assertNotNull(copy.annotationsOfType("constit"));
+	copy.setActiveHypotheses(new HashSet<Object>(Arrays.asList((Object) "first")));
+	assertTrue(copy.annotationsOfType("constit").isEmpty());
+	assertFalse(copy.annotationsOfType("token").isEmpty());
+	// references are to the annotations read back
+	Entity entity = (Entity) copy.allAnnotationsOfType("entity").get(0);
+	Enamex john = (Enamex) copy.allAnnotationsOfType("enamex").get(0);
+	assertSame(john, entity.getMentions().get(0));
+	assertSame(entity, john.getMentionOf());
+	Mention he = entity.getMentions().get(1);
+	assertSame(copy.allAnnotationsOfType("token").get(0), he.getDependents().get(0));
+    }
+
+    @Test
+    public void emptyDocument () throws IOException {
+	Document copy = read(write(new Document(""), null), null);
+	assertEquals("", copy.text());
+	assertEquals(0, copy.getAnnotationTypes().length);
+    }
+
+    @Test
+    public void longString () throws IOException {
+	// longer than writeUTF allows
+	char[] c = new char[70000];
+	Arrays.fill(c, 'é');
+	String text = new String(c);
+	Document doc = new Document(text);
+	Token t = new Token(new Span(0, text.length()));
+	t.setPos(text);
+	doc.addAnnotation(t);
+	Document copy = read(write(doc, null), null);
+	assertEquals(text, copy.text());
+	assertEquals(text, ((Token) copy.allAnnotationsOfType("token").get(0)).getPos());
+    }
+
+    @Test(expected = IOException.class)
+    public void hypothesisNotString () throws IOException {
+	Document doc = new Document(TEXT);
+	Annotation a = new Annotation("constit", new Span(0, 4));
+	doc.addAnnotation(a);
+	a.setHypo(Integer.valueOf(1));
+	write(doc, null);
+    }
+
+    @Test(expected = IOException.class)
+    public void notBinaryDocument () throws IOException {
+	read("JetLite".getBytes("UTF-8"), null);
+    }
+
+    static void assertSameAnnotation (Annotation expected, Annotation found) {
+	assertEquals(expected.getClass(), found.getClass());
+	assertEquals(expected.id(), found.id());
+	assertEquals(expected.type(), found.type());
+	assertEquals(expected.start(), found.start());
+	assertEquals(expected.end(), found.end());
+	assertEquals(expected.getHypo(), found.getHypo());
+	if (expected instanceof Token)
+	    assertEquals(((Token) expected).getPos(), ((Token) found).getPos());
+	if (expected instanceof Enamex) {
+	    assertEquals(((Enamex) expected).getNameType(), ((Enamex) found).getNameType());
+	    assertEquals(((Enamex) expected).getTokens(), ((Enamex) found).getTokens());
+	}
+	if (expected instanceof Mention) {
+	    Mention m = (Mention) expected, n = (Mention) found;
+	    assertEquals(ids(m.getDependents()), ids(n.getDependents()));
+	    assertEquals(m.getDepRelations(), n.getDepRelations());
+	    assertEquals(m.getMentionOf() == null ? 0 : m.getMentionOf().id(),
+			 n.getMentionOf() == null ? 0 : n.getMentionOf().id());
+	}
+	if (expected instanceof Entity) {
+	    assertEquals(((Entity) expected).getSemType(), ((Entity) found).getSemType());
+	    assertEquals(ids(((Entity) expected).getMentions()), ids(((Entity) found).getMentions()));
+	}
+    }
+
+    static List<Integer> ids (List<? extends Annotation> annotations) {
+	if (annotations == null)
+	    return null;
+	List<Integer> ids = new ArrayList<Integer>();
+	for (Annotation a : annotations)
+	    ids.add(a.id());
+	return ids;
+    }
+}
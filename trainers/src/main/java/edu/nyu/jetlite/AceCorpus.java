@@ -0,0 +1,330 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+import edu.nyu.jet.aceJet.*;
+
+/**
+ *  A list of ACE documents, preprocessed once for training and evaluating
+ *  the entity, relation and event taggers.
+ *  <p>
+ *  Preprocessing reads each document, removes its XML (see eraseXML) and
+ *  annotates it with tokens and sentences, all that the trainers use.  The
+ *  entity, relation and event mentions of its APF file are reduced to what
+ *  the trainers use.  The results for the whole list are saved in one file
+ *  (the name of the list file + ".corpus").  Later runs read that file back
+ *  one document at a time instead of preprocessing again.  The file is
+ *  rebuilt when the list is newer or the file was written in an earlier
+ *  form;  delete it to rebuild after changing the documents.
+ */
+
+public class AceCorpus implements Iterable<AceCorpus.Item> {
+
+    // changed whenever the stored form of the documents changes
+    static final int MAGIC = 0x4a4c4332;   // "JLC2"
+
+    File file;
+
+    /**
+     *  A preprocessed document.
+     */
+
+    public static class Item {
+
+	public String name;
+
+	// the document, with token and sentence annotations
+	public Document doc;
+
+	// the type of the entity of the mention whose head starts at each offset
+	public Map<Integer, String> entityTypes = new HashMap<Integer, String>();
+
+	// all the entity mentions, sorted
+	public List<GoldMention> mentions = new ArrayList<GoldMention>();
+
+	// all the relation mentions, in the order of the APF file
+	public List<GoldRelation> relations = new ArrayList<GoldRelation>();
+
+	// the subtype of the event whose anchor starts at each offset
+	public Map<Integer, String> eventTypes = new HashMap<Integer, String>();
+    }
+
+    /**
+     *  An entity mention from the APF file.
+     */
+
+    public static class GoldMention {
+
+	// the extent of its head
+	public int start;
+	public int end;
+
+	public String headText;
+
+	// the type of its entity
+	public String type;
+    }
+
+    /**
+     *  A relation mention from the APF file.
+     */
+
+    public static class GoldRelation {
+
+	// the positions of the arguments in Item.mentions
+	public int arg1;
+	public int arg2;
+
+	// type:subtype
+	public String type;
+    }
+
+    AceCorpus (File file) {
+	this.file = file;
+    }
+
+    /**
+     *  Returns the preprocessed documents listed in 'docListFileName', which
+     *  are in directory 'docDir', preprocessing them first if need be.
+     */
+
+    public static AceCorpus open (String docDir, String docListFileName) throws IOException {
+	File list = new File(docListFileName);
+	File file = new File(docListFileName + ".corpus");
+	if (!file.exists() || file.lastModified() < list.lastModified() || !current(file))
+	    build(docDir, list, file);
+	return new AceCorpus(file);
+    }
+
+    /**
+     *  Returns true if 'file' was written in the current form.
+     */
+
+    static boolean current (File file) throws IOException {
+	DataInputStream in = new DataInputStream(new FileInputStream(file));
+	try {
+	    return in.readInt() == MAGIC;
+	} catch (EOFException e) {
+	    return false;
+	} finally {
+	    in.close();
+	}
+    }
+
+    /**
+     *  Preprocesses the documents listed in 'list' and writes them to 'file'.
+     */
+
+    static void build (String docDir, File list, File file) throws IOException {
+	Map<String, Annotator> annotators = Hub.createAnnotators(new Properties());
+	String[] names = {"sentence"};
+	List<String> docNames = new ArrayList<String>();
+	BufferedReader docListReader = new BufferedReader (new FileReader (list));
+	String line;
+	while ((line = docListReader.readLine()) != null)
+	    docNames.add(line.trim());
+	docListReader.close();
+	System.out.print("Preprocessing " + list + " ");
+	// write to a temporary file and rename it, so that an incomplete
+	// corpus is never read
+	File temp = new File(file.getPath() + ".tmp");
+	DataOutputStream out =
+	    new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 65536));
+	try {
+	    out.writeInt(MAGIC);
+	    out.writeInt(docNames.size());
+	    int docCount = 0;
+	    for (String name : docNames) {
+		String docFileName = docDir + "/" + name;
+		Document doc = new Document(new File(docFileName));
+		doc.setText(eraseXML(doc.text()));
+		String apfFileName = docFileName.replace("sgm" , "apf.xml");
+		AceDocument aceDoc = new AceDocument(docFileName, apfFileName);
+		doc = Hub.processDocument(doc, annotators, names);
+		out.writeUTF(name);
+		BinaryDocument.write(doc, null, out);
+		writeKey(aceDoc, out);
+		docCount++;
+		if (docCount % 5 == 0) System.out.print(".");
+	    }
+	} finally {
+	    out.close();
+	}
+	System.out.println();
+	if (!temp.renameTo(file))
+	    throw new IOException("cannot rename " + temp + " to " + file);
+    }
+
+    /**
+     *  Writes the entity, relation and event mentions of 'aceDoc'.
+     */
+
+    static void writeKey (AceDocument aceDoc, DataOutput out) throws IOException {
+	// mention heads and entity types, in the order EntityTrainer used them
+	List<AceEntityMention> all = new ArrayList<AceEntityMention>();
+	Set<AceEntityMention> mentionSet = new HashSet<AceEntityMention>();
+	for (AceEntity entity : aceDoc.entities) {
+	    for (AceEntityMention mention : entity.mentions) {
+		all.add(mention);
+		mentionSet.add(mention);
+	    }
+	}
+	out.writeInt(all.size());
+	for (AceEntityMention mention : all) {
+	    out.writeInt(mention.jetHead.start());
+	    out.writeUTF(mention.entity.type);
+	}
+	// the distinct mentions, sorted, with the relations between them
+	List<AceEntityMention> mentionList = new ArrayList<AceEntityMention>(mentionSet);
+	Collections.sort(mentionList);
+	Map<AceEntityMention, Integer> index = new IdentityHashMap<AceEntityMention, Integer>();
+	out.writeInt(mentionList.size());
+	for (AceEntityMention mention : mentionList) {
+	    index.put(mention, index.size());
+	    out.writeInt(mention.jetHead.start());
+	    out.writeInt(mention.jetHead.end());
+	    out.writeUTF(mention.headText);
+	    out.writeUTF(mention.entity.type);
+	}
+	List<AceRelationMention> relMentionList = new ArrayList<AceRelationMention>();
+	for (AceRelation relation : aceDoc.relations)
+	    relMentionList.addAll(relation.mentions);
+	out.writeInt(relMentionList.size());
+	for (AceRelationMention mention : relMentionList) {
+	    // an argument not among the mentions can never match a pair
+	    Integer arg1 = index.get(mention.arg1);
+	    Integer arg2 = index.get(mention.arg2);
+	    out.writeInt((arg1 == null) ? -1 : arg1);
+	    out.writeInt((arg2 == null) ? -1 : arg2);
+	    out.writeUTF(mention.relation.type + ":" + mention.relation.subtype);
+	}
+	List<AceEventMention> eventMentions = new ArrayList<AceEventMention>();
+	List<String> eventTypes = new ArrayList<String>();
+	for (AceEvent event : aceDoc.events) {
+	    for (AceEventMention mention : event.mentions) {
+		eventMentions.add(mention);
+		eventTypes.add(event.subtype);
+	    }
+	}
+	out.writeInt(eventMentions.size());
+	for (int i = 0; i < eventMentions.size(); i++) {
+	    out.writeInt(eventMentions.get(i).anchorJetExtent.start());
+	    out.writeUTF(eventTypes.get(i));
+	}
+    }
+
+    static Item read (DataInput in) throws IOException {
+	Item item = new Item();
+	item.name = in.readUTF();
+	item.doc = BinaryDocument.read(in, null);
+	int n = in.readInt();
+	for (int i = 0; i < n; i++) {
+	    int start = in.readInt();
+	    item.entityTypes.put(start, in.readUTF());
+	}
+	n = in.readInt();
+	for (int i = 0; i < n; i++) {
+	    GoldMention m = new GoldMention();
+	    m.start = in.readInt();
+	    m.end = in.readInt();
+	    m.headText = in.readUTF();
+	    m.type = in.readUTF();
+	    item.mentions.add(m);
+	}
+	n = in.readInt();
+	for (int i = 0; i < n; i++) {
+	    GoldRelation r = new GoldRelation();
+	    r.arg1 = in.readInt();
+	    r.arg2 = in.readInt();
+	    r.type = in.readUTF();
+	    item.relations.add(r);
+	}
+	n = in.readInt();
+	for (int i = 0; i < n; i++) {
+	    int start = in.readInt();
+	    item.eventTypes.put(start, in.readUTF());
+	}
+	return item;
+    }
+
+    /**
+     *  Returns an iterator which reads the documents from the file one at a
+     *  time.
+     */
+
+    public Iterator<Item> iterator () {
+	try {
+	    final DataInputStream in =
+		new DataInputStream(new BufferedInputStream(new FileInputStream(file), 65536));
+	    if (in.readInt() != MAGIC) {
+		in.close();
+		throw new IOException(file + " is not a preprocessed corpus");
+	    }
+	    final int size = in.readInt();
+	    return new Iterator<Item>() {
+		int count = 0;
+
+		public boolean hasNext () {
+		    if (count < size)
+			return true;
+		    // the stream is otherwise closed after the last item, but
+		    // there may be none
+		    try {
+			in.close();
+		    } catch (IOException e) {
+			throw new UncheckedIOException(e);
+		    }
+		    return false;
+		}
+
+		public Item next () {
+		    if (count >= size)
+			throw new NoSuchElementException();
+		    try {
+			Item item = read(in);
+			if (++count == size)
+			    in.close();
+			return item;
+		    } catch (IOException e) {
+			throw new UncheckedIOException(e);
+		    }
+		}
+	    };
+	} catch (IOException e) {
+	    throw new UncheckedIOException(e);
+	}
+    }
+
+    /**
+     *  Removes all XML tags from a String.
+     *  <p>
+     *  In computing character offsets within a Document, Jet counts all characters.
+     *  ACE does not count characters in XML tags.  To make the offsets compatible, we
+     *  delete all XML tags from ACE training documents using eraseXML
+     *
+     *  @param  fileTextWithXML  the original ocument text
+     *
+     *  @return  the text with all XML tags removed
+     */
+
+    static String eraseXML (String fileTextWithXML) {
+	boolean inTag = false;
+	int length = fileTextWithXML.length();
+	StringBuffer fileText = new StringBuffer();
+	for (int i=0; i<length; i++) {
+	    char c = fileTextWithXML.charAt(i);
+	    if(c == '<') inTag = true;
+	    if (!inTag) fileText.append(c);
+	    if(c == '>') inTag = false;
+	}
+	return fileText.toString();
+    }
+}
@@ -0,0 +1,337 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ *  A file in CoNLL format (one word per line, a blank line after each
+ *  sentence), read into memory as a series of sentences.
+ *  <p>
+ *  The values of each column are kept in one array for the whole corpus,
+ *  and are accessed by column number (see column(String)).  The file is
+ *  memory-mapped and, if it is large, divided at sentence boundaries into
+ *  chunks which are parsed in parallel (by jetlite.threads threads, by
+ *  default the number of processors).
+ */
+
+public class ConllCorpus implements Iterable<ConllCorpus.Sentence> {
+
+    // files smaller than this are parsed by a single thread
+    static final int MIN_CHUNK = 1 << 20;
+
+    String[] columns;
+
+    // values[c][t] = the value of column c for token t (null if column c
+    // is not kept)
+    String[][] values;
+
+    // sentence s consists of tokens sentenceStart[s] ... sentenceStart[s+1]-1
+    int[] sentenceStart;
+
+    int nSentences;
+
+    int nTokens;
+
+    int tokenCapacity;
+
+    /**
+     *  Reads a CoNLL-format file.
+     *  @param  conllFile  the file to be read
+     *  @param  columns    an array whose dimension is equal to the number of columns
+     *                     in the CoNLL file, and whose <i>i-th</i> element is a label
+     *                     for the <i>i-th</i> column of the file, or <i>null</i> if
+     *                     that column is to be ignored
+     *  @param  separator  the separator between fields in the CoNLL file.
+     */
+
+    public static ConllCorpus read (File conllFile, String[] columns, char separator)
+	    throws IOException {
+	ByteBuffer bytes;
+	try (FileChannel channel = new FileInputStream(conllFile).getChannel()) {
+	    if (channel.size() > Integer.MAX_VALUE)
+		throw new IOException("CoNLL file " + conllFile + " is too large");
+	    bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+	}
+	int threads = Integer.getInteger("jetlite.threads", Runtime.getRuntime().availableProcessors());
+	int nChunks = Math.max(1, Math.min(threads, bytes.limit() / MIN_CHUNK));
+	List<Integer> bounds = chunkBoundaries(bytes, nChunks);
+	List<ConllCorpus> chunks = new ArrayList<ConllCorpus>();
+	if (bounds.size() == 2) {
+	    chunks.add(parse(bytes, 0, bytes.limit(), columns, separator));
+	} else {
+	    ExecutorService executor = Executors.newFixedThreadPool(bounds.size() - 1);
+	    try {
+		List<Future<ConllCorpus>> futures = new ArrayList<Future<ConllCorpus>>();
+		for (int i = 0; i < bounds.size() - 1; i++) {
+		    final ByteBuffer b = bytes.duplicate();
+		    final int from = bounds.get(i), to = bounds.get(i + 1);
+		    final String[] cols = columns;
+		    final char sep = separator;
+		    futures.add(executor.submit(new Callable<ConllCorpus>() {
+			public ConllCorpus call () {
+			    return parse(b, from, to, cols, sep);
+			}
+		    }));
+		}
+		for (Future<ConllCorpus> f : futures)
+		    chunks.add(f.get());
+	    } catch (InterruptedException e) {
+		throw new IOException(e);
+	    } catch (ExecutionException e) {
+		throw new IOException(e.getCause());
+	    } finally {
+		executor.shutdown();
+	    }
+	}
+	return concatenate(chunks, columns);
+    }
+
+    /**
+     *  Returns the offsets at which 'bytes' can be divided into 'nChunks'
+     *  pieces, each ending just after a blank line, preceded by 0 and
+     *  followed by the length of 'bytes'.
+     */
+
+    static List<Integer> chunkBoundaries (ByteBuffer bytes, int nChunks) {
+	List<Integer> bounds = new ArrayList<Integer>();
+	bounds.add(0);
+	int length = bytes.limit();
+	for (int i = 1; i < nChunks; i++) {
+	    int posn = Math.max((int) ((long) length * i / nChunks), bounds.get(bounds.size() - 1));
+	    // find the start of a line
+	    while (posn < length && bytes.get(posn) != '\n')
+		posn++;
+	    // find a blank line and move past it
+	    while (posn < length) {
+		posn++;
+		int end = posn;
+		while (end < length && bytes.get(end) != '\n' && (bytes.get(end) & 0xff) <= ' ')
+		    end++;
+		if (end < length && bytes.get(end) == '\n') {
+		    posn = end + 1;
+		    break;
+		}
+		posn = end;
+		while (posn < length && bytes.get(posn) != '\n')
+		    posn++;
+	    }
+	    if (posn >= length)
+		break;
+	    bounds.add(posn);
+	}
+	bounds.add(length);
+	return bounds;
+    }
+
+    /**
+     *  Parses bytes 'from' ... 'to'-1 of 'bytes'.  A sentence not
+     *  followed by a blank line is ignored.
+     */
+
+    static ConllCorpus parse (ByteBuffer bytes, int from, int to, String[] columns, char separator) {
+	ByteBuffer b = bytes.duplicate();
+	b.limit(to).position(from);
+	CharBuffer text = Charset.defaultCharset().decode(b);
+	char[] c = text.array();
+	int length = text.limit();
+	ConllCorpus corpus = new ConllCorpus(columns, length / 16 + 1, length / 256 + 2);
+	int nColumns = columns.length;
+	int sentenceTokens = 0;
+	int posn = 0;
+	while (posn < length) {
+	    int lineEnd = posn;
+	    while (lineEnd < length && c[lineEnd] != '\n')
+		lineEnd++;
+	    // trim the line, as String.trim does
+	    int start = posn, end = lineEnd;
+	    while (start < end && c[start] <= ' ')
+		start++;
+	    while (end > start && c[end - 1] <= ' ')
+		end--;
+	    if (start == end) {
+		if (sentenceTokens > 0)
+		    corpus.endSentence();
+		sentenceTokens = 0;
+	    } else if (corpus.addToken(c, start, end, separator, nColumns)) {
+		sentenceTokens++;
+	    } else {
+		System.out.println("bad line " + new String(c, posn, lineEnd - posn));
+	    }
+	    posn = lineEnd + 1;
+	}
+	// drop a sentence which was not completed
+	corpus.nTokens = corpus.sentenceStart[corpus.nSentences];
+	return corpus;
+    }
+
+    ConllCorpus (String[] columns, int tokenCapacity, int sentenceCapacity) {
+	this.columns = columns;
+	this.tokenCapacity = tokenCapacity;
+	values = new String[columns.length][];
+	for (int i = 0; i < columns.length; i++)
+	    if (columns[i] != null)
+		values[i] = new String[tokenCapacity];
+	sentenceStart = new int[sentenceCapacity];
+    }
+
+    /**
+     *  Adds a token whose fields are in c[start] ... c[end-1].  Returns
+     *  false if the number of fields is not the number of columns.
+     */
+
+    boolean addToken (char[] c, int start, int end, char separator, int nColumns) {
+	int nFields = 1;
+	for (int i = start; i < end; i++)
+	    if (c[i] == separator)
+		nFields++;
+	if (nFields != nColumns)
+	    return false;
+	if (nTokens == tokenCapacity)
+	    grow();
+	int field = 0;
+	int fieldStart = start;
+	for (int i = start; i <= end; i++) {
+	    if (i == end || c[i] == separator) {
+		if (values[field] != null)
+		    values[field][nTokens] = new String(c, fieldStart, i - fieldStart);
+		field++;
+		fieldStart = i + 1;
+	    }
+	}
+	nTokens++;
+	return true;
+    }
+
+    private void grow () {
+	tokenCapacity *= 2;
+	for (int i = 0; i < values.length; i++)
+	    if (values[i] != null)
+		values[i] = Arrays.copyOf(values[i], tokenCapacity);
+    }
+
+    void endSentence () {
+	if (nSentences + 2 > sentenceStart.length)
+	    sentenceStart = Arrays.copyOf(sentenceStart, sentenceStart.length * 2);
+	nSentences++;
+	sentenceStart[nSentences] = nTokens;
+    }
+
+    /**
+     *  Joins the corpora read from successive chunks of a file.
+     */
+
+    static ConllCorpus concatenate (List<ConllCorpus> chunks, String[] columns) {
+	if (chunks.size() == 1)
+	    return chunks.get(0);
+	int tokens = 0, sentences = 0;
+	for (ConllCorpus chunk : chunks) {
+	    tokens += chunk.nTokens;
+	    sentences += chunk.nSentences;
+	}
+	ConllCorpus corpus = new ConllCorpus(columns, tokens, sentences + 1);
+	for (ConllCorpus chunk : chunks) {
+	    for (int i = 0; i < columns.length; i++)
+		if (columns[i] != null)
+		    System.arraycopy(chunk.values[i], 0, corpus.values[i], corpus.nTokens, chunk.nTokens);
+	    for (int s = 1; s <= chunk.nSentences; s++)
+		corpus.sentenceStart[corpus.nSentences + s] = corpus.nTokens + chunk.sentenceStart[s];
+	    corpus.nSentences += chunk.nSentences;
+	    corpus.nTokens += chunk.nTokens;
+	}
+	return corpus;
+    }
+
+    /**
+     *  Returns the number of the column labeled 'label'.
+     */
+
+    public int column (String label) {
+	for (int i = 0; i < columns.length; i++)
+	    if (label.equals(columns[i]))
+		return i;
+	throw new IllegalArgumentException("No column " + label);
+    }
+
+    /**
+     *  Returns the number of sentences.
+     */
+
+    public int size () {
+	return nSentences;
+    }
+
+    /**
+     *  Returns the <i>i-th</i> sentence.
+     */
+
+    public Sentence sentence (int i) {
+	return new Sentence(sentenceStart[i], sentenceStart[i + 1]);
+    }
+
+    public Iterator<Sentence> iterator () {
+	return new Iterator<Sentence>() {
+	    int next = 0;
+
+	    public boolean hasNext () {
+		return next < nSentences;
+	    }
+
+	    public Sentence next () {
+		if (next >= nSentences)
+		    throw new NoSuchElementException();
+		return sentence(next++);
+	    }
+	};
+    }
+
+    /**
+     *  One sentence of the corpus.
+     */
+
+    public class Sentence {
+
+	int start, end;
+
+	Sentence (int start, int end) {
+	    this.start = start;
+	    this.end = end;
+	}
+
+	/**
+	 *  Returns the size (number of words) of the sentence.
+	 */
+
+	public int size () {
+	    return end - start;
+	}
+
+	/**
+	 *  Returns the value of column 'column' for the <i>i-th</i> word of
+	 *  the sentence.
+	 */
+
+	public String get (int column, int i) {
+	    return values[column][start + i];
+	}
+
+	/**
+	 *  Returns the values of column 'column' for the words of the
+	 *  sentence.
+	 */
+
+	public String[] get (int column) {
+	    return Arrays.copyOfRange(values[column], start, end);
+	}
+    }
+}
@@ -0,0 +1,152 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Trains and evaluates an EntityTagger using the ACE 2005 corpus.
+ *  <p>
+ *  In training the classifier, we do not have an explicit list of all entities,
+ *  only those assigned an ACE type.  We approximate this list by using the
+ *  output of the pipeline through the coref stage.
+ *  <p>
+ *  The documents are read from an AceCorpus, which is preprocessed once.
+ */
+
+public class EntityTrainer {
+
+    EntityTagger tagger;
+
+    MaxEntModel model;
+
+    public EntityTrainer (EntityTagger tagger) {
+	this.tagger = tagger;
+	model = tagger.model;
+    }
+
+    /**
+     *  Command-line-callable method for training and evaluating an entity tagger.
+     *  <p>
+     *  Takes 4 arguments:  training  test  documents  model <br>
+     *  where  <br>
+     *  training = file containing list of training documents  <br>
+     *  test = file containing list of test documents  <br>
+     *  documents = directory containing document files <br>
+     *  model = file containing max ent model
+     */
+
+    public static void main (String[] args) throws IOException {
+	if (args.length != 4) {
+	    System.out.println ("Error, 4 arguments required:");
+	    System.out.println ("   listOfTrainingDocs listOfTestDocs documentDirectory modelFileName");
+	    System.exit(1);
+	}
+	String trainDocListFileName = args[0];
+	String testDocListFileName = args[1];
+	String docDir = args[2];
+	String mfn = args[3];
+	Properties p = new Properties();
+	p.setProperty("EntityTagger.model.fileName", mfn);
+	EntityTrainer trainer = new EntityTrainer(new EntityTagger(p));
+	trainer.trainTagger(docDir, trainDocListFileName);
+	trainer.evaluate(docDir, testDocListFileName);
+    }
+
+    /**
+     *  Train the entity type tagger.
+     *
+     *  @param  docDir           directory containing training documents
+     *  @param  docListFileName  file containing list of training documents
+     */
+
+    public void trainTagger (String docDir, String docListFileName) throws IOException {
+	PrintWriter eventWriter = new PrintWriter (new FileWriter ("events"));
+        int docCount = 0;
+	for (AceCorpus.Item item : AceCorpus.open(docDir, docListFileName)) {
+	    learnFromDocument (item, eventWriter);
+            docCount++;
+            if (docCount % 5 == 0) System.out.print(".");
+        }
+        eventWriter.close();
+	model.train("events");
+    }
+
+     /**
+      *  Acquire training data from one Document in the training corpus.
+      *
+      *  @param  item         the preprocessed document
+      *  @param  eventWriter  the Writer onto which the feature vectors extracted from
+      *                       the document are to be written
+      */
+
+    void learnFromDocument (AceCorpus.Item item, PrintWriter eventWriter) {
+	Document doc = item.doc;
+	// loop over tokens 
+	Span span = Hub.getTEXTspan(doc);
+	int posn = span.start();
+	posn = doc.skipWhitespace(posn, span.end());
+	while (posn < span.end()) {
+	    Annotation tokenAnnotation = doc.tokenAt(posn);
+	    if (tokenAnnotation == null)
+		return;
+	    String tokenText = doc.normalizedText(tokenAnnotation);
+	    Datum d = tagger.entityFeatures(tokenText);
+	    String type = item.entityTypes.get(posn);
+	    if (type == null)
+		type = "other";
+	    d.setOutcome(type);
+	    eventWriter.println(d);
+	    posn = tokenAnnotation.end();
+	}
+    }
+
+    /**
+     *  Evaluate the performance of the entity tagger.
+     *
+     *  @param  docdir               the directory containing the test documents
+     *  @param  testDocListFileName  the file containing a list of the test documents, one per line
+     */
+
+    void evaluate (String docDir, String testDocListFileName) throws IOException {
+	new Evaluator().evaluate(AceCorpus.open(docDir, testDocListFileName), new Evaluator.DocumentScorer() {
+	    public Evaluator.Score score (AceCorpus.Item item) {
+		return evaluateOnDocument(item);
+	    }
+	});
+    }
+
+    /**
+     *  Score the entity tagger on document 'item' from the test collection.
+     */
+
+    Evaluator.Score evaluateOnDocument (AceCorpus.Item item) {
+	Evaluator.Score score = new Evaluator.Score();
+	Document doc = item.doc;
+	// loop over tokens 
+	Span span = Hub.getTEXTspan(doc);
+	int posn = span.start();
+	posn = doc.skipWhitespace(posn, span.end());
+	while (posn < span.end()) {
+	    Annotation tokenAnnotation = doc.tokenAt(posn);
+	    if (tokenAnnotation == null)
+		return score;
+	    String tokenText = doc.normalizedText(tokenAnnotation);
+	    Datum d = tagger.entityFeatures(tokenText);
+	    String type = item.entityTypes.get(posn);
+	    if (type == null)
+		type = "other";
+	    String prediction = model.getBestOutcome(d.toArray());
+	    score.count(prediction, type);
+	    posn = tokenAnnotation.end();
+	}
+	return score;
+    }
+}
@@ -0,0 +1,139 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ *  Scores a tagger on the documents of an AceCorpus, scoring several
+ *  documents at once.  Each document is scored separately, giving its own
+ *  counts, and the counts are then summed.  Besides precision, recall and
+ *  F1, the evaluator reports documents and tokens processed per second and
+ *  percentiles of the time taken for a document.
+ *  <p>
+ *  The number of threads is given by system property jetlite.threads
+ *  (default, the number of processors).
+ */
+
+public class Evaluator {
+
+    /**
+     *  The number of correct items, of items in the response and of items
+     *  in the key.
+     */
+
+    public static class Score {
+
+	public long correct;
+	public long response;
+	public long key;
+
+	/**
+	 *  Counts one item, given the tagger's prediction and the outcome in
+	 *  the key, either of which may be "other" (no item).
+	 */
+
+	public void count (String prediction, String outcome) {
+	    if (prediction.equals(outcome) && !prediction.equals("other"))
+		correct++;
+	    if ( !prediction.equals("other"))
+		response++;
+	    if ( !outcome.equals("other"))
+		key++;
+	}
+
+	public void add (Score s) {
+	    correct += s.correct;
+	    response += s.response;
+	    key += s.key;
+	}
+    }
+
+    /**
+     *  Scores the tagger on one document.  Called from several threads at
+     *  once, so it must not change shared state.
+     */
+
+    public interface DocumentScorer {
+	Score score (AceCorpus.Item item);
+    }
+
+    int threads;
+
+    public Evaluator () {
+	threads = Integer.getInteger("jetlite.threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     *  Scores each document of 'corpus' with 'scorer', writes a report to
+     *  standard output, and returns the total score.
+     */
+
+    public Score evaluate (AceCorpus corpus, final DocumentScorer scorer) throws IOException {
+	ExecutorService executor = Executors.newFixedThreadPool(threads);
+	// documents are read as they are needed, keeping only a few in memory
+	final Semaphore window = new Semaphore(threads * 2);
+	final Histogram latency = new Histogram();
+	List<Future<Score>> scores = new ArrayList<Future<Score>>();
+	long tokens = 0;
+	long start = System.nanoTime();
+	try {
+	    for (final AceCorpus.Item item : corpus) {
+		Vector<Annotation> t = item.doc.annotationsOfType("token");
+		if (t != null)
+		    tokens += t.size();
+		window.acquireUninterruptibly();
+		scores.add(executor.submit(new Callable<Score>() {
+		    public Score call () {
+			try {
+			    long begin = System.nanoTime();
+			    Score s = scorer.score(item);
+			    latency.record(System.nanoTime() - begin);
+			    return s;
+			} finally {
+			    window.release();
+			}
+		    }
+		}));
+	    }
+	    Score total = new Score();
+	    for (Future<Score> s : scores)
+		total.add(s.get());
+	    double seconds = (System.nanoTime() - start) / 1e9;
+	    report(total, scores.size(), tokens, seconds, latency);
+	    return total;
+	} catch (InterruptedException e) {
+	    throw new IOException(e);
+	} catch (ExecutionException e) {
+	    if (e.getCause() instanceof RuntimeException)
+		throw (RuntimeException) e.getCause();
+	    throw new IOException(e.getCause());
+	} finally {
+	    executor.shutdown();
+	}
+    }
+
+    void report (Score total, int docs, long tokens, double seconds, Histogram latency) {
+	float recall = 100.0f * total.correct / total.key;
+	float precision = 100.0f * total.correct / total.response;
+	System.out.println ("correct: " + total.correct + "   response: " + total.response
+		+ "   key: " + total.key);
+	float F = 2 * precision  * recall / (precision + recall);
+	System.out.printf ( "  precision: %5.2f", precision);
+	System.out.printf ( "  recall:    %5.2f",  recall);
+	System.out.printf ( "  F1:        %5.2f \n",  F);
+	System.out.printf ("%d documents in %.2f s (%d threads):  %.1f documents/s  %.0f tokens/s\n",
+			   docs, seconds, threads, docs / seconds, tokens / seconds);
+	System.out.printf ("ms per document  p50: %.2f  p95: %.2f  p99: %.2f\n",
+			   latency.percentile(0.50) / 1e6, latency.percentile(0.95) / 1e6,
+			   latency.percentile(0.99) / 1e6);
+    }
+}
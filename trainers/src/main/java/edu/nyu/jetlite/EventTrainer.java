@@ -0,0 +1,144 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Trains and evaluates an EventTagger using the ACE 2005 corpus, read from
+ *  an AceCorpus.
+ */
+
+public class EventTrainer {
+
+    EventTagger tagger;
+
+    // the MaxEnt model
+    MaxEntModel model;
+
+    public EventTrainer (EventTagger tagger) {
+	this.tagger = tagger;
+	model = tagger.model;
+    }
+
+    /**
+     *  Command-line-callable method for training and evaluating an event tagger.
+     *  <p>
+     *  Takes 4 arguments:  training  test  documents  model <br>
+     *  where  <br>
+     *  training = file containing list of training documents  <br>
+     *  test = file containing list of test documents  <br>
+     *  documents = directory containing document files <br>
+     *  model = file containing max ent model
+     */
+
+    public static void main (String[] args) throws IOException {
+	String trainDocListFileName = args[0];
+	String testDocListFileName = args[1];
+	String docDir = args[2];
+	String mfn = args[3];
+	Properties p = new Properties();
+	p.setProperty("EventTagger.model.fileName", mfn);
+	EventTrainer trainer = new EventTrainer(new EventTagger(p));
+	trainer.trainTagger(docDir, trainDocListFileName);
+	trainer.evaluate(docDir, testDocListFileName);
+    }
+
+    /**
+     *  Train the event tagger.
+     *
+     *  @param  docDir           directory containing training documents
+     *  @param  docListFileName  file containing list of training documents
+     */
+
+    public void trainTagger (String docDir, String docListFileName) throws IOException {
+	PrintWriter eventWriter = new PrintWriter (new FileWriter ("events"));
+	int docCount = 0;
+	for (AceCorpus.Item item : AceCorpus.open(docDir, docListFileName)) {
+	    learnFromDocument (item, eventWriter);
+	    docCount++;
+	    if (docCount % 5 == 0) System.out.print(".");
+	}
+	eventWriter.close();
+	model.train("events");
+    }
+
+    /**
+     *  Acquire training data from one Document in the training corpus.
+     *
+     *  @param  item         the preprocessed document
+     *  @param  eventWriter  the Writer onto which the feature vectors extracted from
+     *                       the document are to be written
+     */
+
+    void learnFromDocument (AceCorpus.Item item, PrintWriter eventWriter) {
+	Document doc = item.doc;
+	// loop over tokens 
+	Span span = Hub.getTEXTspan(doc);
+	int posn = span.start();
+	posn = doc.skipWhitespace(posn, span.end());
+	while (posn < span.end()) {
+	    Annotation tokenAnnotation = doc.tokenAt(posn);
+	    if (tokenAnnotation == null)
+		return;
+	    String tokenText = doc.normalizedText(tokenAnnotation);
+	    Datum d = tagger.eventFeatures(tokenText);
+	    String eventType = item.eventTypes.get(posn);
+	    if (eventType == null)
+		eventType = "other";
+	    d.setOutcome(eventType);
+	    eventWriter.println(d);
+	    posn = tokenAnnotation.end();
+	}
+    }
+
+     /**
+      *  Evaluate the event model just built and print the scores.
+      *
+      *  @param  docDir               directory containing test documents
+      *  @param  testDocListFileName  file containing a list of test documents,
+      *                               one per line
+      */
+
+    void evaluate (String docDir, String testDocListFileName) throws IOException {
+	new Evaluator().evaluate(AceCorpus.open(docDir, testDocListFileName), new Evaluator.DocumentScorer() {
+	    public Evaluator.Score score (AceCorpus.Item item) {
+		return evaluateOnDocument(item);
+	    }
+	});
+    }
+
+      /**
+       *  Evaluate the model with respect to document 'item' from the test collection.
+       */
+
+    Evaluator.Score evaluateOnDocument (AceCorpus.Item item) {
+	Evaluator.Score score = new Evaluator.Score();
+	Document doc = item.doc;
+	// loop over tokens 
+	Span span = Hub.getTEXTspan(doc);
+	int posn = span.start();
+	posn = doc.skipWhitespace(posn, span.end());
+	while (posn < span.end()) {
+	    Annotation tokenAnnotation = doc.tokenAt(posn);
+	    if (tokenAnnotation == null)
+		return score;
+	    String tokenText = doc.normalizedText(tokenAnnotation);
+	    Datum d = tagger.eventFeatures(tokenText);
+	    String type = item.eventTypes.get(posn);
+	    if (type == null)
+		type = "other";
+	    String prediction = model.getBestOutcome(d.toArray());
+	    score.count(prediction, type);
+	    posn = tokenAnnotation.end();
+	}
+	return score;
+    }
+}
@@ -0,0 +1,287 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ *  A CoNLL-format corpus reduced to the features a sequence tagger
+ *  (POStagger or NEtagger) computes for each token, for training and
+ *  evaluating the tagger.
+ *  <p>
+ *  The features are computed once by the tagger's own feature function,
+ *  with a placeholder for the prior tag.  Each distinct feature is stored
+ *  once, and each token holds the numbers of its features and of its tag.
+ *  A feature which includes the prior tag is completed when it is used,
+ *  with the tag from the key (in training) or the tagger's prediction (in
+ *  evaluation).  The corpus is saved in a file (the name of the CoNLL file
+ *  + "." + the name of the feature set + ".features"), with the version of
+ *  the feature function, and read back on later runs;  the file is rebuilt
+ *  when the CoNLL file is newer or the version has changed.
+ */
+
+public class FeatureCorpus {
+
+    static final int MAGIC = 0x4a4c4632;   // "JLF2"
+
+    // stands for the prior tag when features are computed
+    static final String PRIOR_TAG = "\u0001";
+
+    /**
+     *  Computes the features of token 'i' of sentence 'words', given the
+     *  tag of the prior token.
+     */
+
+    public interface Featurizer {
+	Datum features (int i, String[] words, String priorTag);
+    }
+
+    // the distinct features and tags
+    String[] strings;
+
+    // for a feature which includes the prior tag, the parts of the feature
+    // before and after each occurrence of the tag (otherwise null)
+    String[][] parts;
+
+    // sentence s consists of tokens sentenceStart[s] ... sentenceStart[s+1]-1
+    int[] sentenceStart;
+
+    // the features of token t are features[featureStart[t]] ...
+    // features[featureStart[t+1]-1]
+    int[] featureStart;
+
+    int[] features;
+
+    // the tag of each token, as an index in strings
+    int[] tags;
+
+    // the version of the feature function
+    int version;
+
+    /**
+     *  Returns the corpus for CoNLL file 'conllFile', building it with
+     *  'featurizer' if need be.  'name' distinguishes the feature set and
+     *  'version' is the version of 'featurizer';  a saved corpus computed by
+     *  another version is rebuilt.  'columns', 'separator' and 'tagColumn'
+     *  describe the file, as for ConllCorpus.
+     */
+
+    public static FeatureCorpus open (File conllFile, String[] columns, char separator,
+	    String tagColumn, String name, int version, Featurizer featurizer) throws IOException {
+	File file = new File(conllFile.getPath() + "." + name + ".features");
+	if (!file.exists() || file.lastModified() < conllFile.lastModified()
+	    || !current(file, version)) {
+	    FeatureCorpus corpus = build(ConllCorpus.read(conllFile, columns, separator),
+					 tagColumn, featurizer);
+	    corpus.version = version;
+	    corpus.save(file);
+	    return corpus;
+	}
+	return load(file, version);
+    }
+
+    /**
+     *  Returns true if 'file' was written in the current form, with
+     *  features computed by version 'version' of the feature function.
+     */
+
+    static boolean current (File file, int version) throws IOException {
+	DataInputStream in = new DataInputStream(new FileInputStream(file));
+	try {
+	    return in.readInt() == MAGIC && in.readInt() == version;
+	} catch (EOFException e) {
+	    return false;
+	} finally {
+	    in.close();
+	}
+    }
+
+    /**
+     *  Computes the features of each token of 'conll'.
+     */
+
+    static FeatureCorpus build (ConllCorpus conll, String tagColumn, Featurizer featurizer) {
+	int token = conll.column("token");
+	int tag = conll.column(tagColumn);
+	Map<String, Integer> index = new HashMap<String, Integer>();
+	List<String> strings = new ArrayList<String>();
+	FeatureCorpus corpus = new FeatureCorpus();
+	corpus.sentenceStart = new int[conll.size() + 1];
+	corpus.featureStart = new int[conll.nTokens + 1];
+	corpus.tags = new int[conll.nTokens];
+	int[] features = new int[conll.nTokens * 8];
+	int nFeatures = 0;
+	int t = 0;
+	for (int s = 0; s < conll.size(); s++) {
+	    ConllCorpus.Sentence sentence = conll.sentence(s);
+	    String[] words = sentence.get(token);
+	    for (int i = 0; i < words.length; i++) {
+		for (String f : featurizer.features(i, words, PRIOR_TAG).toArray()) {
+		    if (nFeatures == features.length)
+			features = Arrays.copyOf(features, features.length * 2);
+		    features[nFeatures++] = intern(f, index, strings);
+		}
+		corpus.tags[t] = intern(sentence.get(tag, i), index, strings);
+		t++;
+		corpus.featureStart[t] = nFeatures;
+	    }
+	    corpus.sentenceStart[s + 1] = t;
+	}
+	corpus.features = Arrays.copyOf(features, nFeatures);
+	corpus.setStrings(strings.toArray(new String[strings.size()]));
+	return corpus;
+    }
+
+    private static int intern (String s, Map<String, Integer> index, List<String> strings) {
+	Integer n = index.get(s);
+	if (n == null) {
+	    n = strings.size();
+	    index.put(s, n);
+	    strings.add(s);
+	}
+	return n;
+    }
+
+    private void setStrings (String[] strings) {
+	this.strings = strings;
+	parts = new String[strings.length][];
+	for (int i = 0; i < strings.length; i++)
+	    if (strings[i].contains(PRIOR_TAG))
+		parts[i] = strings[i].split(PRIOR_TAG, -1);
+    }
+
+    /**
+     *  Writes the corpus to 'file'.
+     */
+
+    void save (File file) throws IOException {
+	// write to a temporary file and rename it, so that an incomplete
+	// corpus is never read
+	File temp = new File(file.getPath() + ".tmp");
+	DataOutputStream out =
+	    new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 65536));
+	try {
+	    out.writeInt(MAGIC);
+	    out.writeInt(version);
+	    out.writeInt(strings.length);
+	    for (String s : strings)
+		out.writeUTF(s);
+	    writeInts(sentenceStart, out);
+	    writeInts(featureStart, out);
+	    writeInts(features, out);
+	    writeInts(tags, out);
+	} finally {
+	    out.close();
+	}
+	if (!temp.renameTo(file))
+	    throw new IOException("cannot rename " + temp + " to " + file);
+    }
+
+    /**
+     *  Reads a corpus written by save, with features computed by version
+     *  'version' of the feature function.
+     */
+
+    static FeatureCorpus load (File file, int version) throws IOException {
+	DataInputStream in =
+	    new DataInputStream(new BufferedInputStream(new FileInputStream(file), 65536));
+	try {
+	    if (in.readInt() != MAGIC)
+		throw new IOException(file + " is not a feature corpus");
+	    FeatureCorpus corpus = new FeatureCorpus();
+	    corpus.version = in.readInt();
+	    if (corpus.version != version)
+		throw new IOException(file + " holds features of version " + corpus.version
+				      + ", not " + version);
+	    String[] strings = new String[in.readInt()];
+	    for (int i = 0; i < strings.length; i++)
+		strings[i] = in.readUTF();
+	    corpus.setStrings(strings);
+	    corpus.sentenceStart = readInts(in);
+	    corpus.featureStart = readInts(in);
+	    corpus.features = readInts(in);
+	    corpus.tags = readInts(in);
+	    return corpus;
+	} finally {
+	    in.close();
+	}
+    }
+
+    private static void writeInts (int[] a, DataOutput out) throws IOException {
+	out.writeInt(a.length);
+	for (int n : a)
+	    out.writeInt(n);
+    }
+
+    private static int[] readInts (DataInput in) throws IOException {
+	int[] a = new int[in.readInt()];
+	for (int i = 0; i < a.length; i++)
+	    a[i] = in.readInt();
+	return a;
+    }
+
+    /**
+     *  Returns the number of sentences.
+     */
+
+    public int size () {
+	return sentenceStart.length - 1;
+    }
+
+    /**
+     *  Returns the number of tokens in sentence 's'.
+     */
+
+    public int length (int s) {
+	return sentenceStart[s + 1] - sentenceStart[s];
+    }
+
+    /**
+     *  Returns the tag of token 'i' of sentence 's'.
+     */
+
+    public String tag (int s, int i) {
+	return strings[tags[sentenceStart[s] + i]];
+    }
+
+    /**
+     *  Returns the features of token 'i' of sentence 's', given the tag of
+     *  the prior token.
+     */
+
+    public String[] features (int s, int i, String priorTag) {
+	int t = sentenceStart[s] + i;
+	String[] result = new String[featureStart[t + 1] - featureStart[t]];
+	for (int j = 0; j < result.length; j++) {
+	    int f = features[featureStart[t] + j];
+	    if (parts[f] == null) {
+		result[j] = strings[f];
+	    } else {
+		StringBuilder sb = new StringBuilder(parts[f][0]);
+		for (int k = 1; k < parts[f].length; k++)
+		    sb.append(priorTag).append(parts[f][k]);
+		result[j] = sb.toString();
+	    }
+	}
+	return result;
+    }
+
+    /**
+     *  Returns the features of token 'i' of sentence 's' as a Datum for
+     *  'model', with the tag as its outcome.
+     */
+
+    public Datum datum (int s, int i, String priorTag, MaxEntModel model) {
+	Datum d = new Datum(model);
+	for (String f : features(s, i, priorTag))
+	    d.addF(f);
+	d.setOutcome(tag(s, i));
+	return d;
+    }
+}
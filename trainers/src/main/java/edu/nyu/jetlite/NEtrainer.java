@@ -0,0 +1,129 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ *  Trains and evaluates an NEtagger using the CoNLL English data.
+ */
+
+public class NEtrainer {
+
+    NEtagger tagger;
+
+    MaxEntModel model;
+
+    String[] columns = {"token", null, null, "NEtype"};
+
+    public NEtrainer (NEtagger tagger) {
+	this.tagger = tagger;
+	model = tagger.model;
+    }
+
+    /**
+     *  Train and then evaluate the name tagger using the CoNLL data.
+     *  invokable from the command line.
+     *  <p>
+     *  Takes 3 command-line arguments:                <br>
+     *  training corps:  training file in CoNLL format <br>
+     *  test corpus:  test data in CoNLL format        <br>
+     *  modelFileName: file name of MaxEnt model          <br>
+     *  and optionally                                 <br>
+     *  gazetteerFileName:  gazetteer whose names are used as features
+     *  (see NEtagger)
+     */
+
+    public static void main (String[] args) throws IOException {
+	if (args.length != 3 && args.length != 4) {
+	    System.out.println ("Error, 3 or 4 arguments required:");
+	    System.out.println ("         trainingCorpus testCorpus modelFileName [gazetteerFileName]");
+	    System.exit(1);
+	}
+	String trainingCorpus = args[0];
+	String testCorpus = args[1];
+	String modelFN = args[2];
+	Properties p = new Properties();
+	p.setProperty("NEtagger.model.fileName", modelFN);
+	if (args.length == 4)
+	    p.setProperty("NEtagger.gazetteer.fileName", args[3]);
+	NEtrainer trainer = new NEtrainer(new NEtagger(p));
+	trainer.trainTagger (trainingCorpus);
+	trainer.evaluate (testCorpus);
+    }
+
+    public void trainTagger (String conllFileName) throws IOException {
+	FeatureCorpus corpus = openCorpus(conllFileName);
+	PrintWriter eventWriter = new PrintWriter (new FileWriter ("events"));
+	for (int s = 0; s < corpus.size(); s++) {
+	    trainOnSentence(corpus, s, eventWriter);
+	}
+	eventWriter.close();
+	model.train("events", 2);
+    }
+
+    private void trainOnSentence (FeatureCorpus corpus, int s, PrintWriter eventWriter) {
+	String priorTag = "^";
+	for (int i=0; i < corpus.length(s); i++) {
+	    eventWriter.println(corpus.datum(s, i, priorTag, model));
+	    priorTag = corpus.tag(s, i);
+	}
+    }
+
+    public void  evaluate (String conllFileName) throws IOException {
+	BIO.Score score = new BIO.Score();
+	FeatureCorpus corpus = openCorpus(conllFileName);
+	for (int s = 0; s < corpus.size(); s++) {
+	    int nTokens = corpus.length(s);
+	    int[] response = new int[nTokens];
+	    int[] key = new int[nTokens];
+	    String priorTag = "^";
+	    for (int i=0; i < nTokens; i++) {
+		String prediction = model.getBestOutcome(corpus.features(s, i, priorTag));
+		response[i] = tagger.bio.code(prediction);
+		key[i] = tagger.bio.code(corpus.tag(s, i));
+		priorTag = prediction;
+	    }
+	    tagger.bio.score (response, key, score);
+	}
+	score.report();
+    }
+
+    /**
+     *  Returns the features of the tokens of 'conllFileName', computing them
+     *  only if they were not saved by an earlier run.  With a gazetteer,
+     *  the features are saved separately for each gazetteer file name and
+     *  contents, so that changing the gazetteer computes them again.
+     */
+
+    FeatureCorpus openCorpus (String conllFileName) throws IOException {
+	String name = "NEtype";
+	if (tagger.gazetteerFileName != null) {
+	    File gazetteerFile = MaxEntModel.modelFile(tagger.gazetteerFileName);
+	    MessageDigest md = StageCache.digest();
+	    StageCache.update(md, gazetteerFile);
+	    name += "." + gazetteerFile.getName() + "." + StageCache.hex(md.digest()).substring(0, 12);
+	}
+	return FeatureCorpus.open(new File(conllFileName), columns, ' ', "NEtype", name,
+	    NEtagger.FEATURE_VERSION, new FeatureCorpus.Featurizer() {
+		// the gazetteer names of the sentence last seen
+		String[] sentence = null;
+		int[] gazetteerNames;
+
+		public Datum features (int i, String[] words, String priorTag) {
+		    if (words != sentence) {
+			gazetteerNames = tagger.gazetteerMatches(words);
+			sentence = words;
+		    }
+		    return tagger.NEfeatures(i, words, gazetteerNames, priorTag);
+		}
+	    });
+    }
+}
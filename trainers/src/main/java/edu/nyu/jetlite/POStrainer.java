@@ -0,0 +1,121 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Trains and evaluates a POStagger using the Penn Treebank in CoNLL format.
+ */
+
+public class POStrainer {
+
+    POStagger tagger;
+
+    MaxEntModel model;
+
+    String[] columns = {"token", "pos"};
+
+    public POStrainer (POStagger tagger) {
+	this.tagger = tagger;
+	model = tagger.model;
+    }
+
+    /**
+     *  A command-line-callable method for training and
+     *  evaluating a part-of-speech tagger.
+     *  <p>
+     *  Takes 3 arguments:  training  test  model <br>
+     *  where  <br>
+     *  training = file containing training data in CoNLL format  <br>
+     *  test = file containing test data in CoNLL format  <br>
+     *  model = file to contain max ent model
+     */
+
+    public static void main (String[] args) throws IOException {
+	if (args.length != 3) {
+	    System.out.println ("Error, 3 arguments required:");
+	    System.out.println ("         trainingCorpus testCorpus modelFileName");
+	    System.exit(1);
+	}
+	String trainingCorpus = args[0];
+	String testCorpus = args[1];
+	String modelFN = args[2];
+	Properties p = new Properties();
+	p.setProperty("POStagger.model.fileName", modelFN);
+	POStrainer trainer = new POStrainer(new POStagger(p));
+	trainer.trainTagger (trainingCorpus);
+	trainer.evaluate (testCorpus);
+    }
+
+    /**
+     *  Train the POS tagger using file conllFileName.
+     */
+
+    public void trainTagger (String conllFileName) throws IOException {
+	FeatureCorpus corpus = openCorpus(conllFileName);
+	PrintWriter eventWriter = new PrintWriter (new FileWriter ("events"));
+	for (int s = 0; s < corpus.size(); s++) {
+	    trainOnSentence(corpus, s, eventWriter);
+	}
+	eventWriter.close();
+	model.train("events");
+    }
+
+    /**
+     *  Train the tagger from sentence 's' of the training corpus.  For each
+     *  token in the sentence, it writes one line to the 'events' file
+     *  including the features (context vector) and the correct tag.
+     */
+
+    private void trainOnSentence (FeatureCorpus corpus, int s, PrintWriter eventWriter) {
+	String priorTag = "^";
+	for (int i=0; i < corpus.length(s); i++) {
+	    eventWriter.println(corpus.datum(s, i, priorTag, model));
+	    priorTag = corpus.tag(s, i);
+	}
+    }
+
+    /**
+     *  Evaluates the accuracy of the tagger using the test corpus 'conllFileName.
+     */
+
+    public void  evaluate (String conllFileName) throws IOException {
+	int tags = 0;
+	int correct = 0;
+	FeatureCorpus corpus = openCorpus(conllFileName);
+	for (int s = 0; s < corpus.size(); s++) {
+	    int nTokens = corpus.length(s);
+	    String priorTag = "^";
+	    for (int i=0; i < nTokens; i++) {
+		tags++;
+		String prediction = model.getBestOutcome(corpus.features(s, i, priorTag));
+		if (corpus.tag(s, i).equals(prediction))
+		    correct++;
+		priorTag = prediction;
+	    }
+	}
+	float accuracy = ((float) correct) / tags;
+	System.out.println("Tags " + tags + "   correct " + correct + "   accuracy " + accuracy);
+    }
+
+    /**
+     *  Returns the features of the tokens of 'conllFileName', computing them
+     *  only if they were not saved by an earlier run.
+     */
+
+    FeatureCorpus openCorpus (String conllFileName) throws IOException {
+	return FeatureCorpus.open(new File(conllFileName), columns, '\t', "pos", "pos",
+	    POStagger.FEATURE_VERSION, new FeatureCorpus.Featurizer() {
+		public Datum features (int i, String[] words, String priorTag) {
+		    return tagger.POSfeatures(i, words, priorTag);
+		}
+	    });
+    }
+}
@@ -0,0 +1,216 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import edu.nyu.jetlite.tipster.*;
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Trains and evaluates a RelationTagger using the ACE 2005 corpus, read
+ *  from an AceCorpus.
+ */
+
+public class RelationTrainer {
+
+    RelationTagger tagger;
+
+    // the MaxEnt model
+    MaxEntModel model;
+
+    public RelationTrainer (RelationTagger tagger) {
+	this.tagger = tagger;
+	model = tagger.model;
+    }
+
+    /**
+     *  Command-line-callable method for training and evaluating a relation tagger.
+     *  <p>
+     *  Takes 4 arguments:  training  test  documents  model <br>
+     *  where  <br>
+     *  training = file containing list of training documents  <br>
+     *  test = file containing list of test documents  <br>
+     *  documents = directory containing document files  <br>
+     *  model = file to contain max ent model
+     */
+    
+    public static void main (String[] args) throws IOException {
+	if (args.length != 4) {
+	    System.out.println ("Error, 4 arguments required:"); 
+ 	    System.out.println ("   listOfTrainingDocs listOfTestDocs documentDirectory modelFileName");
+	    System.exit(1);                     
+	} 
+	String trainDocListFileName = args[0];
+	String testDocListFileName = args[1];
+	String docDir = args[2];
+	String modelFN = args[3];
+	Properties p = new Properties();
+	p.setProperty("RelationTagger.model.fileName", modelFN);
+	RelationTrainer trainer = new RelationTrainer(new RelationTagger(p));
+ 	trainer.trainTagger(docDir, trainDocListFileName);
+	trainer.evaluate(docDir, testDocListFileName);
+    }
+
+    /**
+     *  Train the relation tagger.
+     *
+     *  @param  docDir           directory containing document files
+     *  @param  docListFileName  file containing list of training documents
+     */
+
+    public void trainTagger (String docDir, String docListFileName) throws IOException {
+	PrintWriter eventWriter = new PrintWriter (new FileWriter ("events"));
+        int docCount = 0;
+	for (AceCorpus.Item item : AceCorpus.open(docDir, docListFileName)) {
+	    learnFromDocument (item, eventWriter);
+            docCount++;
+            if (docCount % 5 == 0) System.out.print(".");
+        }
+	eventWriter.close();
+	model.train("events", 3);
+    }
+
+    /**
+     *  Acquire training data from one Document in the training corpus.
+     *
+     *  @param  item         the preprocessed document
+     *  @param  eventWriter  the Writer onto which the feature vectors extracted from
+     *                       the document are to be written
+     */
+
+    void learnFromDocument (AceCorpus.Item item, PrintWriter eventWriter) {
+	Document doc = item.doc;
+	List<AceCorpus.GoldRelation> relMentionList = new ArrayList<AceCorpus.GoldRelation>(item.relations);
+	TokenIndex tokens = new TokenIndex(doc);
+	// iterate over pairs of nearby mentions, record candidates for ACE relations
+	for (int[] pair : findMentionPairs (doc, item.mentions))
+	    addTrainingInstance (doc, tokens, item.mentions, pair[0], pair[1], relMentionList, eventWriter);
+    }
+
+    /**
+     *  returns the pairs (of positions in 'mentions') of all mentions in the same
+     *  sentence separated by at most RelationTagger.mentionWindow mentions
+     */
+
+    static List<int[]> findMentionPairs (Document doc, List<AceCorpus.GoldMention> mentions) {
+	int[] offsets = new int[mentions.size()];
+	for (int i=0; i<offsets.length; i++)
+	    offsets[i] = mentions.get(i).start;
+	return RelationTagger.candidatePairs(RelationTagger.sentenceIndex(doc, offsets));
+    }
+
+    /**
+     *  Returns the relation (if any) between mentions i and j in the key,
+     *  removing it from 'relMentionList':  its type:subtype if i is the first
+     *  argument, that followed by "-1" if j is, and "other" if there is none.
+     */
+
+    static String findRelation (List<AceCorpus.GoldRelation> relMentionList, int i, int j) {
+	for (AceCorpus.GoldRelation mention : relMentionList) {
+	    if (mention.arg1 == i && mention.arg2 == j) {
+		relMentionList.remove(mention);
+		return mention.type;
+	    } else if (mention.arg1 == j && mention.arg2 == i) {
+		relMentionList.remove(mention);
+		return mention.type + "-1";
+	    }
+	}
+	return "other";
+    }
+
+    /**
+     *  Check whether there is a relation between m1 and m2 in the training corpus;
+     *  If so, write the feature vector with the relation type (or, in the absence of a 
+     *  relation, the outcome "other")).
+     */
+
+    private void addTrainingInstance (Document doc, TokenIndex tokens, List<AceCorpus.GoldMention> mentions,
+	    int m1, int m2, List<AceCorpus.GoldRelation> relMentionList, PrintWriter eventWriter) {
+	// generate features
+	Datum d = relationFeatures(doc, tokens, mentions.get(m1), mentions.get(m2));
+	// retrieve tag from APF document
+	String outcome = findRelation(relMentionList, m1, m2);
+	d.setOutcome(outcome);
+	eventWriter.println(d);
+    }
+
+    /**
+     *  Features for relation tagging:  the types and identities of the arguments
+     *  and the number of words between the arguments.
+     *  <p>
+     *  There are two slightly different feature functions.  This one is used
+     *  in training the tagger.  In training, we rely on 'perfect entity mentions'
+     *  from the hand-tagged APF files.  RelationTagger.relationFeatures is used
+     *  in applying the tagger as part of a pipeline to process new text.  In that
+     *  case we use entity mentions generated by prior stages in the pipeline.
+     *  <p>
+     *  The tokens between the arguments are taken from 'tokens', the
+     *  TokenIndex of the document.
+     */
+
+    Datum relationFeatures (Document doc, TokenIndex tokens, AceCorpus.GoldMention m1, AceCorpus.GoldMention m2) {
+	Datum d = new Datum(model);
+	d.addFV ("arg1", m1.headText.replace(" ", "_").replace("\n", "_"));
+	d.addFV ("arg2", m2.headText.replace(" ", "_").replace("\n", "_"));
+	d.addFV ("type1", m1.type);
+	d.addFV ("type2", m2.type);
+	d.addFV ("types", m1.type + "-" + m2.type);
+	int first = tokens.firstBetween(m1.end, m2.start);
+	int wordsBetween = tokens.countBetween(m1.end, m2.start);
+	for (int i = first; i < first + wordsBetween; i++)
+	    d.addF(tokens.text(i));
+	d.addFV ("WordsBetween", Integer.toString(wordsBetween));
+	d.addFV ("phraseBetween", tokens.join(first, wordsBetween, '_'));
+	return d;
+    }
+
+    /**
+     *  Evaluate the relation model just built and print the scores.
+     *
+     *  @param  docDir               directory containing test documents
+     *  @param  testDocListFileName  file containing a list of test documents,
+     *                               one per line
+     */
+
+    void evaluate (String docDir, String testDocListFileName) throws IOException {
+	new Evaluator().evaluate(AceCorpus.open(docDir, testDocListFileName), new Evaluator.DocumentScorer() {
+	    public Evaluator.Score score (AceCorpus.Item item) {
+		return evaluateOnDocument(item);
+	    }
+	});
+    } 
+
+    /**
+     *  Evaluate the model with respect to document 'item' from the test collection.
+     */
+
+    Evaluator.Score evaluateOnDocument (AceCorpus.Item item) {
+	Evaluator.Score score = new Evaluator.Score();
+	Document doc = item.doc;
+	List<AceCorpus.GoldRelation> relMentionList = new ArrayList<AceCorpus.GoldRelation>(item.relations);
+	TokenIndex tokens = new TokenIndex(doc);
+	// iterate over pairs of nearby mentions, record candidates for ACE relations
+	for (int[] pair : findMentionPairs (doc, item.mentions))
+	    evaluateOnPair (doc, tokens, item.mentions, pair[0], pair[1], relMentionList, score);
+	return score;
+    }
+											      
+    /**
+     *  Evaluate the relation tagger with respect to a specific pair of entity mentions.
+     */ 
+
+    void evaluateOnPair (Document doc, TokenIndex tokens, List<AceCorpus.GoldMention> mentions,
+	    int m1, int m2, List<AceCorpus.GoldRelation> relMentionList, Evaluator.Score score) {
+	// generate features and predict relation
+	Datum d = relationFeatures(doc, tokens, mentions.get(m1), mentions.get(m2));
+	String prediction = model.getBestOutcome(d.toArray());
+	// determine from ACE key whether there is a relation
+	String outcome = findRelation(relMentionList, m1, m2);
+	score.count(prediction, outcome);
+    }
+}
@@ -0,0 +1,133 @@
+// -*- tab-width: 4 -*-
+// Title:         JetLite
+// Version:       1.00
+// Copyright (c): 2017
+// Author:        Ralph Grishman
+// Description:   A lightweight Java-based Information Extraction Tool
+
+package edu.nyu.jetlite;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+import org.junit.*;
+
+/**
+ *  Tests that a CoNLL file read in parallel chunks gives the same corpus
+ *  as one read by a single thread, and as the file read line by line.
+ */
+
+public class ConllCorpusTest {
+
+    static final String[] COLUMNS = {"token", null, "pos"};
+
+    File file;
+
+    // the sentences written to the file, each a list of {token, pos}
+    List<List<String[]>> sentences = new ArrayList<List<String[]>>();
+
+    /**
+     *  Writes a file of several chunks, with irregular blank lines.
+     */
+
+    @Before
+    public void writeFile () throws IOException {
+	file = File.createTempFile("corpus", ".conll");
+	Random random = new Random(23);
+	PrintWriter w = new PrintWriter(new FileWriter(file));
+	long bytes = 0;
+	while (bytes < 3 * ConllCorpus.MIN_CHUNK) {
+	    List<String[]> sentence = new ArrayList<String[]>();
+	    int length = 1 + random.nextInt(30);
+	    for (int i = 0; i < length; i++) {
+		String token = "w" + random.nextInt(5000);
+		String pos = "P" + random.nextInt(40);
+		String line = token + "\t" + i + "\t" + pos;
+		w.println(line);
+		bytes += line.length() + 1;
+		sentence.add(new String[] {token, pos});
+	    }
+	    sentences.add(sentence);
+	    // one or more blank lines, possibly holding blanks
+	    int blanks = 1 + ((random.nextInt(10) == 0) ? random.nextInt(3) : 0);
+	    for (int i = 0; i < blanks; i++)
+		w.println((random.nextInt(10) == 0) ? "  " : "");
+	    bytes += blanks;
+	}
+	// a last sentence without a blank line after it, which is dropped
+	w.println("last\t0\tP0");
+	w.close();
+    }
+
+    @After
+    public void deleteFile () {
+	file.delete();
+    }
+
+    static ConllCorpus read (File file, int threads) throws IOException {
+	String old = System.getProperty("jetlite.threads");
+	System.setProperty("jetlite.threads", Integer.toString(threads));
+	try {
+	    return ConllCorpus.read(file, COLUMNS, '\t');
+	} finally {
+	    if (old == null)
+		System.clearProperty("jetlite.threads");
+	    else
+		System.setProperty("jetlite.threads", old);
+	}
+    }
+
+    @Test
+    public void parallelMatchesSerial () throws IOException {
+	ConllCorpus serial = read(file, 1);
+	assertSentences(serial);
+	for (int threads : new int[] {2, 3, 4, 7}) {
+	    ConllCorpus parallel = read(file, threads);
+	    assertSentences(parallel);
+	    assertEquals(serial.size(), parallel.size());
+	    assertEquals(serial.nTokens, parallel.nTokens);
+	}
+    }
+
+    /**
+     *  Checks that 'corpus' holds the sentences written to the file.
+     */
+
+    void assertSentences (ConllCorpus corpus) {
+	assertEquals(sentences.size(), corpus.size());
+	int token = corpus.column("token");
+	int pos = corpus.column("pos");
+	for (int s = 0; s < sentences.size(); s++) {
+	    List<String[]> expected = sentences.get(s);
+	    ConllCorpus.Sentence sentence = corpus.sentence(s);
+	    assertEquals(expected.size(), sentence.size());
+	    for (int i = 0; i < expected.size(); i++) {
+		assertEquals(expected.get(i)[0], sentence.get(token, i));
+		assertEquals(expected.get(i)[1], sentence.get(pos, i));
+	    }
+	}
+    }
+
+    @Test
+    public void chunksEndAfterBlankLines () {
+	byte[] text = "a\tb\n\nc\td\ne\tf\n  \n\ng\th\n\n".getBytes();
+	ByteBuffer bytes = ByteBuffer.wrap(text);
+	for (int nChunks = 1; nChunks <= 6; nChunks++) {
+	    List<Integer> bounds = ConllCorpus.chunkBoundaries(bytes, nChunks);
+	    assertEquals(0, (int) bounds.get(0));
+	    assertEquals(text.length, (int) bounds.get(bounds.size() - 1));
+	    for (int i = 1; i < bounds.size() - 1; i++) {
+		int b = bounds.get(i);
+		assertTrue(bounds.get(i - 1) < b);
+		// the chunk ends with a newline following a blank line
+		assertEquals('\n', text[b - 1]);
+		int lineStart = b - 1;
+		while (lineStart > 0 && text[lineStart - 1] != '\n')
+		    lineStart--;
+		assertTrue(new String(text, lineStart, b - lineStart).trim().isEmpty());
+	    }
+	}
+    }
+}